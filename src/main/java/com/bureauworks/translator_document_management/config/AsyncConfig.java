@@ -1,5 +1,6 @@
 package com.bureauworks.translator_document_management.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -9,8 +10,18 @@ import java.util.concurrent.Executor;
 @Configuration
 public class AsyncConfig {
 
+    @Value("${async.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Value("${async.max-concurrency:10}")
+    private int maxConcurrency;
+
     @Bean(name = "taskExecutor")
     public Executor taskExecutor() {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("AsyncVirtualThread-", maxConcurrency, 25);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(5);
         executor.setMaxPoolSize(10);
@@ -19,4 +30,42 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * Workers que gravam os blocos de importação reservados por este nó, incluindo as chamadas de detecção de
+     * idioma. O {@code ImportJobWorker} só reserva um bloco quando há um worker livre.
+     */
+    @Bean(name = "importChunkExecutor")
+    public Executor importChunkExecutor(@Value("${import.workers:4}") int workers) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("ImportVirtualWorker-", workers, 0);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("ImportWorker-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Planeja as importações reservadas na fila por este nó. O {@code ImportJobWorker} só reserva uma importação
+     * quando há um worker livre, portanto o executor não precisa de fila.
+     */
+    @Bean(name = "importJobExecutor")
+    public Executor importJobExecutor(@Value("${import.queue.workers:2}") int workers) {
+        if (virtualThreads) {
+            return new VirtualThreadTaskExecutor("ImportJobVirtualThread-", workers, 0);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("ImportJob-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,89 @@
+package com.bureauworks.translator_document_management.config;
+
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caches de tradutores usados pelo {@code TranslatorService}. Cada nó mantém um L1 em memória; com
+ * {@code cache.translators.l2.enabled=true} as falhas do L1 são buscadas no Redis, compartilhado entre os nós.
+ * A remoção em uma atualização alcança o L1 deste nó e o L2; nos demais nós o L1 expira pelo TTL, por isso ele é
+ * curto. Métricas em {@code cache.gets{cache=translators}} e {@code cache.l2.gets}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TRANSLATORS = "translators";
+
+    public static final String TRANSLATORS_BY_EMAIL = "translatorsByEmail";
+
+    @Bean
+    @Primary
+    public CacheManager cacheManager(@Value("${cache.translators.maximum-size:10000}") long maximumSize,
+                                     @Value("${cache.translators.ttl:5m}") Duration ttl,
+                                     @Qualifier("l2CacheManager") ObjectProvider<CacheManager> l2CacheManager) {
+        CacheManager l2 = l2CacheManager.getIfAvailable();
+        List<Cache> caches = List.of(TRANSLATORS, TRANSLATORS_BY_EMAIL).stream()
+                .map(name -> {
+                    CaffeineCache l1 = new CaffeineCache(name, Caffeine.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(ttl)
+                            .recordStats()
+                            .build(), false);
+                    return l2 == null ? l1 : (Cache) new TwoLevelCache(l1, l2.getCache(name));
+                })
+                .toList();
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    /** L2 no Redis, com os tradutores gravados em JSON. */
+    @Bean
+    @ConditionalOnProperty(name = "cache.translators.l2.enabled", havingValue = "true")
+    public CacheManager l2CacheManager(RedisConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                       @Value("${cache.translators.l2.ttl:1h}") Duration ttl) {
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(ttl)
+                .disableCachingNullValues()
+                .prefixCacheNameWith("translator-document-management:")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(objectMapper, Translator.class)));
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(configuration)
+                .enableStatistics()
+                .build();
+    }
+
+    /** Publica as métricas do L1 (Caffeine) e os acertos do L2 dos caches em dois níveis. */
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> registry -> {
+            new CaffeineCacheMetrics<>(cache.getL1().getNativeCache(), cache.getName(), tags).bindTo(registry);
+            cache.bindL2Metrics(registry, tags);
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.bureauworks.translator_document_management.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache de segundo nível e de consultas do Hibernate (JCache com Caffeine), separado do cache de serviço de
+ * {@link CacheConfig}. Cada região tem tamanho e TTL próprios; o cache é local a cada nó, e uma alteração feita por
+ * outro nó só é vista após o TTL da região. A região de timestamps, que invalida o cache de consultas a cada
+ * gravação nas tabelas, não expira.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String TRANSLATOR_REGION = "translator";
+
+    public static final String DOCUMENT_IMPORT_REGION = "documentImport";
+
+    public static final String IMPORT_ERROR_REGION = "importError";
+
+    // Regiões padrão do Hibernate para o cache de consultas
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${cache.hibernate.translator.maximum-size:10000}")
+    private long translatorMaximumSize;
+
+    @Value("${cache.hibernate.translator.ttl:5m}")
+    private Duration translatorTtl;
+
+    @Value("${cache.hibernate.document-import.maximum-size:1000}")
+    private long documentImportMaximumSize;
+
+    @Value("${cache.hibernate.document-import.ttl:10m}")
+    private Duration documentImportTtl;
+
+    @Value("${cache.hibernate.import-error.maximum-size:50000}")
+    private long importErrorMaximumSize;
+
+    @Value("${cache.hibernate.import-error.ttl:1h}")
+    private Duration importErrorTtl;
+
+    @Value("${cache.hibernate.query.maximum-size:1000}")
+    private long queryMaximumSize;
+
+    @Value("${cache.hibernate.query.ttl:10m}")
+    private Duration queryTtl;
+
+    /** Um gerenciador por contexto: o provedor devolveria o mesmo gerenciador para a mesma URI. */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, TRANSLATOR_REGION, translatorMaximumSize, translatorTtl);
+        createRegion(cacheManager, DOCUMENT_IMPORT_REGION, documentImportMaximumSize, documentImportTtl);
+        createRegion(cacheManager, IMPORT_ERROR_REGION, importErrorMaximumSize, importErrorTtl);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaximumSize, queryTtl);
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Uma região sem configuração aqui seria criada sem limite de tamanho
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Taxa de acertos de cada região em {@code hibernate.second.level.cache.hit.ratio{region}}. Acertos, falhas e
+     * gravações por região são publicados pelo hibernate-micrometer ({@code hibernate.second.level.cache.*}).
+     */
+    @Bean
+    public MeterBinder hibernateCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : List.of(TRANSLATOR_REGION, DOCUMENT_IMPORT_REGION, IMPORT_ERROR_REGION,
+                    QUERY_RESULTS_REGION)) {
+                Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .tag("region", region)
+                        .description("Acertos sobre consultas à região do cache de segundo nível")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0;
+        }
+        long requests = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return requests == 0 ? 0 : (double) regionStatistics.getHitCount() / requests;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, Long maximumSize, Duration ttl) {
+        // O Hibernate já guarda o estado desmontado das entidades; copiar cada valor seria desnecessário
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (ttl != null) {
+            configuration.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(
+                    new javax.cache.expiry.Duration(TimeUnit.MILLISECONDS, ttl.toMillis())));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,19 @@
+package com.bureauworks.translator_document_management.config;
+
+import com.bureauworks.translator_document_management.dto.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Respostas que não passam por {@link FieldSelection} (por exemplo, um objeto aninhado em outra resposta) também
+     * precisam resolver o filtro de campos.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilter() {
+        return builder -> builder.filters(FieldSelection.SERIALIZE_ALL);
+    }
+}
@@ -0,0 +1,76 @@
+package com.bureauworks.translator_document_management.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * Cliente HTTP compartilhado pelas chamadas ao OpenAI: pool de conexões com keep-alive, timeouts de conexão e
+ * leitura e novas tentativas com backoff exponencial para respostas 429/5xx. As latências são publicadas pelo
+ * actuator como {@code http.client.requests}.
+ */
+@Configuration
+public class OpenAIClientConfig {
+
+    @Value("${openai.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${openai.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${openai.http.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${openai.http.idle-timeout:60s}")
+    private Duration idleTimeout;
+
+    @Value("${openai.http.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${openai.http.retry-backoff:500ms}")
+    private Duration retryBackoff;
+
+    @Bean
+    public CloseableHttpClient openAIHttpClient() {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(connectTimeout))
+                .setSocketTimeout(Timeout.of(readTimeout))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .build();
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(connectionConfig)
+                        .build())
+                .setDefaultRequestConfig(requestConfig)
+                .setRetryStrategy(new OpenAIRetryStrategy(maxRetries, TimeValue.of(retryBackoff)))
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate openAIRestTemplate(RestTemplateBuilder builder, CloseableHttpClient openAIHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(openAIHttpClient))
+                .build();
+    }
+}
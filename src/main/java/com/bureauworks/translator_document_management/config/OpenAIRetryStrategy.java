@@ -0,0 +1,40 @@
+package com.bureauworks.translator_document_management.config;
+
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.core5.http.ConnectionClosedException;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+
+import javax.net.ssl.SSLException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * Repete requisições que receberam 429 ou 5xx transitórios. Respeita o cabeçalho Retry-After quando presente e,
+ * caso contrário, espera {@code backoff * 2^(tentativa - 1)}.
+ */
+class OpenAIRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+    private final TimeValue backoff;
+
+    OpenAIRetryStrategy(int maxRetries, TimeValue backoff) {
+        super(maxRetries, backoff,
+                List.of(InterruptedIOException.class, UnknownHostException.class, ConnectException.class,
+                        ConnectionClosedException.class, NoRouteToHostException.class, SSLException.class),
+                List.of(429, 500, 502, 503, 504));
+        this.backoff = backoff;
+    }
+
+    @Override
+    public TimeValue getRetryInterval(HttpResponse response, int execCount, HttpContext context) {
+        if (response.containsHeader(HttpHeaders.RETRY_AFTER)) {
+            return super.getRetryInterval(response, execCount, context);
+        }
+        return TimeValue.ofMilliseconds(backoff.toMilliseconds() << Math.min(execCount - 1, 10));
+    }
+}
@@ -0,0 +1,148 @@
+package com.bureauworks.translator_document_management.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache em dois níveis: o L1 em memória (Caffeine, limitado por tamanho e TTL) é consultado primeiro e o L2
+ * compartilhado (Redis) preenche o L1 nas falhas. Gravações e remoções vão para os dois níveis.
+ * Uma falha do L2 é registrada e tratada como ausência, sem interromper a leitura.
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final CaffeineCache l1;
+
+    private final Cache l2;
+
+    private final AtomicLong l2Hits = new AtomicLong();
+
+    private final AtomicLong l2Misses = new AtomicLong();
+
+    public TwoLevelCache(CaffeineCache l1, Cache l2) {
+        this.l1 = l1;
+        this.l2 = l2;
+    }
+
+    public CaffeineCache getL1() {
+        return l1;
+    }
+
+    @Override
+    public String getName() {
+        return l1.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = l1.get(key);
+        if (value == null) {
+            value = getFromL2(key);
+            if (value != null) {
+                l1.put(key, value.get());
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value == null ? null : value.get();
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + stored);
+        }
+        return (T) stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return l1.get(key, () -> {
+            ValueWrapper value = getFromL2(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            putInL2(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l1.put(key, value);
+        putInL2(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            l2.evict(key);
+        } catch (RuntimeException e) {
+            logger.error("Erro ao remover {} do cache {} no L2", key, getName(), e);
+        }
+        l1.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        try {
+            l2.clear();
+        } catch (RuntimeException e) {
+            logger.error("Erro ao limpar o cache {} no L2", getName(), e);
+        }
+        l1.clear();
+    }
+
+    /** Acertos e falhas do L2, publicados como {@code cache.l2.gets{result=hit|miss}}. */
+    public void bindL2Metrics(MeterRegistry registry, Iterable<Tag> tags) {
+        FunctionCounter.builder("cache.l2.gets", l2Hits, AtomicLong::get)
+                .tags(tags).tag("cache", getName()).tag("result", "hit")
+                .description("Falhas do L1 atendidas pelo L2")
+                .register(registry);
+        FunctionCounter.builder("cache.l2.gets", l2Misses, AtomicLong::get)
+                .tags(tags).tag("cache", getName()).tag("result", "miss")
+                .description("Falhas do L1 que também não estavam no L2")
+                .register(registry);
+    }
+
+    private ValueWrapper getFromL2(Object key) {
+        try {
+            ValueWrapper value = l2.get(key);
+            (value == null ? l2Misses : l2Hits).incrementAndGet();
+            return value == null ? null : new SimpleValueWrapper(value.get());
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao ler {} do cache {} no L2: {}", key, getName(), e.getMessage());
+            l2Misses.incrementAndGet();
+            return null;
+        }
+    }
+
+    private void putInL2(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            l2.put(key, value);
+        } catch (RuntimeException e) {
+            logger.warn("Erro ao gravar {} no cache {} no L2: {}", key, getName(), e.getMessage());
+        }
+    }
+}
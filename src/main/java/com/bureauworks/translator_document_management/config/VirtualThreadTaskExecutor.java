@@ -0,0 +1,63 @@
+package com.bureauworks.translator_document_management.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executa cada tarefa em uma thread virtual própria. Um semáforo limita quantas tarefas rodam ao mesmo tempo
+ * (por exemplo, para não esgotar o pool de conexões do Hikari) e até {@code queueCapacity} tarefas aguardam a vez
+ * em suas threads virtuais. Como no {@code ThreadPoolTaskExecutor}, além disso a tarefa é rejeitada na submissão
+ * com {@link TaskRejectedException}.
+ */
+public class VirtualThreadTaskExecutor implements TaskExecutor, DisposableBean {
+
+    private final ExecutorService executor;
+
+    private final Semaphore permits;
+
+    private final Semaphore admissions;
+
+    public VirtualThreadTaskExecutor(String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 1).factory());
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.admissions = new Semaphore(maxConcurrency + queueCapacity);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admissions.tryAcquire()) {
+            throw new TaskRejectedException("Executor " + this + " sem capacidade para a tarefa " + task);
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    admissions.release();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                    admissions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admissions.release();
+            throw new TaskRejectedException("Executor " + this + " encerrado; tarefa " + task + " rejeitada", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -1,19 +1,55 @@
 package com.bureauworks.translator_document_management.config;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Value("${http.cache.list-max-age:5s}")
+    private Duration listMaxAge;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOriginPatterns("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED)
                 .allowCredentials(true);
     }
-}
 
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        // Aceita valores de enum sem diferenciar maiúsculas/minúsculas (ex.: mode=bulk)
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Listagens, cursores e pesquisas: o cliente reaproveita a página por http.cache.list-max-age
+        String cacheControl = CacheControl.maxAge(listMaxAge).cachePrivate().getHeaderValue();
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (HttpMethod.GET.matches(request.getMethod())) {
+                    response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/v1/*", "/api/v1/*/cursor", "/api/v1/*/search");
+    }
+}
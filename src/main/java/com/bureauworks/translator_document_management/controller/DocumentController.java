@@ -8,13 +8,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
+import com.bureauworks.translator_document_management.dto.ExportFormat;
+import com.bureauworks.translator_document_management.dto.FieldSelection;
+import com.bureauworks.translator_document_management.dto.ResourceVersion;
+import com.bureauworks.translator_document_management.dto.SearchMode;
 import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.service.DocumentExportService;
 import com.bureauworks.translator_document_management.service.DocumentService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/v1/documents")
@@ -24,25 +38,123 @@ public class DocumentController {
     @Autowired
     private DocumentService documentService;
 
-    @Operation(summary = "Obtém todos os documentos", description = "Retorna uma lista paginada de todos os documentos")
+    @Autowired
+    private DocumentExportService documentExportService;
+
+    @Operation(summary = "Obtém todos os documentos",
+            description = "Retorna uma lista paginada de documentos resumidos, sem o conteúdo. Com count=false a " +
+                    "contagem total é omitida e a resposta traz apenas se há próxima página; fields limita os " +
+                    "campos de cada documento (por exemplo, fields=id,subject)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Campo inválido em fields",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
     @GetMapping
-    public ResponseEntity<Page<Document>> getAllDocuments(@RequestParam(defaultValue = "0") int page,
-                                                          @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Document> documents = documentService.findAll(pageable);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+    public ResponseEntity<?> getAllDocuments(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Slice<DocumentSummary> documents = count ? documentService.findAll(pageable)
+                    : documentService.findAllWithoutCount(pageable);
+            return ResponseEntity.ok(FieldSelection.apply(documents, fields, DocumentSummary.FIELDS));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Obtém todos os documentos por cursor",
+            description = "Percorre os documentos resumidos do mais recente ao mais antigo sem OFFSET nem " +
+                    "contagem. Envie o nextCursor da resposta para obter a página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor ou campo inválido",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAllDocumentsByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
+        try {
+            CursorPage<DocumentSummary> documents = documentService.findAllByCursor(cursor,
+                    CursorPage.clampSize(size));
+            return ResponseEntity.ok(FieldSelection.apply(documents, fields, DocumentSummary.FIELDS));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @Operation(summary = "Pesquisa documentos",
-            description = "Retorna uma lista paginada de documentos que correspondem ao texto de pesquisa")
+            description = "Retorna uma lista paginada de documentos resumidos que correspondem ao texto de " +
+                    "pesquisa. Com mode=FULLTEXT a busca considera também o conteúdo, ordena por relevância e " +
+                    "destaca os trechos encontrados; location escolhe o idioma da consulta (por exemplo, pt-br). " +
+                    "Com mode=INDEX a pesquisa é feita no índice local, sem acessar o banco (search.index.enabled)")
     @GetMapping("/search")
-    public ResponseEntity<Page<Document>> searchDocuments(
+    public ResponseEntity<?> searchDocuments(
             @RequestParam String text,
+            @RequestParam(defaultValue = "LIKE") SearchMode mode,
+            @RequestParam(required = false) String location,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String fields,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Document> documents = documentService.searchDocuments(text, pageable);
-        return new ResponseEntity<>(documents, HttpStatus.OK);
+        if (mode == SearchMode.FUZZY) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Modo de pesquisa não suportado para documentos.");
+        }
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            if (mode == SearchMode.INDEX) {
+                Page<DocumentSearchHit> hits = documentService.searchDocumentsIndexed(text, pageable);
+                return ResponseEntity.ok(FieldSelection.apply(hits, fields, DocumentSearchHit.FIELDS));
+            }
+            if (mode == SearchMode.FULLTEXT) {
+                Slice<DocumentSearchHit> hits = documentService.searchDocumentsFullText(text, location, count,
+                        pageable);
+                return ResponseEntity.ok(FieldSelection.apply(hits, fields, DocumentSearchHit.FIELDS));
+            }
+            Page<DocumentSummary> documents = documentService.searchDocuments(text, pageable);
+            return ResponseEntity.ok(FieldSelection.apply(documents, fields, DocumentSummary.FIELDS));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Reconstrói o índice de busca",
+            description = "Regrava o índice local de documentos a partir do banco, em segundo plano. As pesquisas " +
+                    "continuam respondendo durante a reconstrução")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Reconstrução iniciada"),
+            @ApiResponse(responseCode = "400", description = "Índice de busca desabilitado",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @PostMapping("/search/index/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        try {
+            documentService.rebuildSearchIndex();
+            return ResponseEntity.accepted().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Exporta documentos",
+            description = "Transmite todos os documentos, com o conteúdo, em NDJSON (um objeto por linha) ou CSV, " +
+                    "em ordem de id. Os filtros translatorId, documentImportId e location são opcionais e " +
+                    "combináveis. A resposta é gravada conforme os documentos são lidos do banco")
+    @GetMapping("/export")
+    public void exportDocuments(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(required = false) Long translatorId,
+            @RequestParam(required = false) Long documentImportId,
+            @RequestParam(required = false) String location,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"documents." + format.getExtension() + "\"");
+        documentExportService.export(translatorId, documentImportId, location, format, response.getOutputStream());
     }
 
     @Operation(summary = "Cria um novo documento",
@@ -64,44 +176,68 @@ public class DocumentController {
     }
 
     @Operation(summary = "Obtém um documento pelo ID",
-            description = "Retorna os detalhes de um documento pelo seu ID")
+            description = "Retorna os detalhes de um documento pelo seu ID, com ETag e Last-Modified. Com " +
+                    "If-None-Match ou If-Modified-Since ainda válidos responde 304, sem corpo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Documento encontrado",
+                    content = @Content(schema = @Schema(implementation = Document.class))),
+            @ApiResponse(responseCode = "304", description = "Documento não modificado",
+                    content = @Content(schema = @Schema(implementation = Void.class))),
+            @ApiResponse(responseCode = "404", description = "Documento não encontrado",
+                    content = @Content(schema = @Schema(implementation = Void.class)))
+    })
     @GetMapping("/{id}")
     public ResponseEntity<Document> getDocumentById(@PathVariable Long id) {
         Document document = documentService.findById(id);
         if (document == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        return ResponseEntity.ok(document);
+        return ResourceVersion.of(document).applyTo(ResponseEntity.ok()).body(document);
     }
 
     @Operation(summary = "Atualiza um documento",
-            description = "Atualiza os detalhes de um documento existente pelo seu ID")
+            description = "Atualiza os detalhes de um documento existente pelo seu ID. Com If-Match, a " +
+                    "atualização só é feita se a ETag informada for a da versão atual")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Documento atualizado com sucesso",
                     content = @Content(schema = @Schema(implementation = Document.class))),
             @ApiResponse(responseCode = "400", description = "Requisição inválida",
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "404", description = "Documento não encontrado",
-                    content = @Content(schema = @Schema(implementation = Void.class)))
+                    content = @Content(schema = @Schema(implementation = Void.class))),
+            @ApiResponse(responseCode = "409", description = "Documento alterado por outra requisição durante a " +
+                    "atualização",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do documento",
+                    content = @Content(schema = @Schema(implementation = String.class)))
     })
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateDocument(@PathVariable Long id, @RequestBody Document documentDetails) {
+    public ResponseEntity<?> updateDocument(@PathVariable Long id, @RequestBody Document documentDetails,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             Document document = documentService.findById(id);
 
             if (document == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
+            if (!ResourceVersion.of(document).matches(ifMatch)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body("O documento foi alterado desde a versão informada em If-Match.");
+            }
 
+            // A versão lida acompanha o documento: o save falha se outra requisição gravá-lo antes
             document.setSubject(documentDetails.getSubject());
             document.setContent(documentDetails.getContent());
             document.setLocation(documentDetails.getLocation());
             document.setAuthor(documentDetails.getAuthor());
             Document updatedDocument = documentService.save(document);
 
-            return ResponseEntity.ok(updatedDocument);
+            return ResourceVersion.of(updatedDocument).applyTo(ResponseEntity.ok()).body(updatedDocument);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("O documento foi alterado por outra requisição. Obtenha a versão atual e tente novamente.");
         }
     }
 
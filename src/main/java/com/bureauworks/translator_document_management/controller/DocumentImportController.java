@@ -1,6 +1,14 @@
 package com.bureauworks.translator_document_management.controller;
 
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
+import com.bureauworks.translator_document_management.dto.ImportProgress;
+import com.bureauworks.translator_document_management.dto.SearchMode;
 import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.exception.ImportInProgressException;
+import com.bureauworks.translator_document_management.exception.ImportQueueFullException;
 import com.bureauworks.translator_document_management.service.DocumentImportService;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,69 +21,182 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.concurrent.CompletableFuture;
+import java.io.UncheckedIOException;
+import java.net.URI;
 
 @RestController
 @RequestMapping("/api/v1/documentImport")
 @Tag(name = "DocumentImportController", description = "Gerenciamento de importações de documentos")
 public class DocumentImportController {
 
+    // Tamanho da coluna document_imports.tenant
+    private static final int TENANT_MAX_LENGTH = 100;
+
     @Autowired
     private DocumentImportService documentImportService;
 
     @Operation(summary = "Obtém todas as importações",
-            description = "Retorna uma lista paginada de todas as importações de documentos")
+            description = "Retorna uma lista paginada de todas as importações. Com count=false a contagem total " +
+                    "é omitida e a resposta traz apenas se há próxima página")
     @GetMapping
-    public ResponseEntity<Page<DocumentImport>> getAllDocumentImports(@RequestParam(defaultValue = "0") int page,
-                                                                      @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Slice<DocumentImport>> getAllDocumentImports(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean count) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<DocumentImport> documentImports = documentImportService.findAll(pageable);
+        Slice<DocumentImport> documentImports = count ? documentImportService.findAll(pageable)
+                : documentImportService.findAllWithoutCount(pageable);
         return new ResponseEntity<>(documentImports, HttpStatus.OK);
     }
 
+    @Operation(summary = "Obtém todas as importações por cursor",
+            description = "Percorre todas as importações do mais recente ao mais antigo sem OFFSET nem contagem. " +
+                    "Envie o nextCursor da resposta para obter a página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAllDocumentImportsByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<DocumentImport> documentImports = documentImportService.findAllByCursor(cursor, CursorPage.clampSize(size));
+            return new ResponseEntity<>(documentImports, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Pesquisa importações de documentos",
-            description = "Retorna uma lista paginada de importações que correspondem ao texto de pesquisa")
+            description = "Retorna uma lista paginada de importações cujo nome de arquivo contém o texto de " +
+                    "pesquisa. Com mode=FUZZY a busca tolera erros de digitação e ordena pela similaridade")
     @GetMapping("/search")
-    public ResponseEntity<Page<DocumentImport>> searchDocumentImports(
+    public ResponseEntity<?> searchDocumentImports(
             @RequestParam String text,
+            @RequestParam(defaultValue = "LIKE") SearchMode mode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
+        if (mode != SearchMode.LIKE && mode != SearchMode.FUZZY) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Modo de pesquisa não suportado para importações.");
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<DocumentImport> documentImports = documentImportService.searchImports(text, pageable);
+        Page<DocumentImport> documentImports = mode == SearchMode.FUZZY
+                ? documentImportService.searchImportsBySimilarity(text, pageable)
+                : documentImportService.searchImports(text, pageable);
         return new ResponseEntity<>(documentImports, HttpStatus.OK);
     }
 
+    @Operation(summary = "Obtém o progresso de uma importação",
+            description = "Retorna a situação, as linhas lidas e persistidas, os erros e a vazão (linhas/s) " +
+                    "de uma importação")
+    @GetMapping("/{id}/progress")
+    public ResponseEntity<ImportProgress> getImportProgress(@PathVariable Long id) {
+        ImportProgress progress = documentImportService.getProgress(id);
+        if (progress == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return new ResponseEntity<>(progress, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Obtém os documentos de uma importação",
+            description = "Retorna uma lista paginada com o resumo dos documentos gravados por uma importação")
+    @GetMapping("/{id}/documents")
+    public ResponseEntity<Page<DocumentSummary>> getImportDocuments(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        DocumentImport documentImport = documentImportService.findById(id);
+        if (documentImport == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Page<DocumentSummary> documents = documentImportService.findDocuments(documentImport,
+                PageRequest.of(page, size));
+        return new ResponseEntity<>(documents, HttpStatus.OK);
+    }
+
+    @Operation(summary = "Obtém os erros de uma importação",
+            description = "Retorna uma lista paginada com os erros registrados durante uma importação")
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<Page<ImportError>> getImportErrors(@PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        DocumentImport documentImport = documentImportService.findById(id);
+        if (documentImport == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        Page<ImportError> errors = documentImportService.findErrors(documentImport, PageRequest.of(page, size));
+        return new ResponseEntity<>(errors, HttpStatus.OK);
+    }
+
     @Operation(summary = "Deleta uma importação de documento",
-            description = "Remove uma importação de documento existente pelo seu ID")
+            description = "Remove uma importação de documento finalizada pelo seu ID, com os seus documentos e erros")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Importação removida"),
+            @ApiResponse(responseCode = "404", description = "Importação não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Importação na fila ou em andamento",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteDocumentImport(@PathVariable Long id) {
+    public ResponseEntity<?> deleteDocumentImport(@PathVariable Long id) {
         DocumentImport documentImport = documentImportService.findById(id);
         if (documentImport == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        documentImportService.delete(id);
+        try {
+            documentImportService.delete(id);
+        } catch (ImportInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
     @Operation(summary = "Importa documentos",
-            description = "Importa documentos a partir de um arquivo CSV")
+            description = "Recebe um arquivo CSV e agenda a importação, respondendo 202 com o registro da " +
+                    "importação. O andamento pode ser consultado em /{id}/progress. O modo BULK grava as linhas " +
+                    "com COPY do PostgreSQL, mantendo o mesmo relatório de erros por linha do modo JPA")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Documentos importados com sucesso",
+            @ApiResponse(responseCode = "202", description = "Importação agendada",
                     content = @Content(schema = @Schema(implementation = DocumentImport.class))),
-            @ApiResponse(responseCode = "400", description = "Requisição inválida",
+            @ApiResponse(responseCode = "400", description = "Requisição inválida ou X-Tenant-Id vazio ou " +
+                    "com mais de 100 caracteres",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "503", description = "Fila de importações cheia",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "500", description = "Erro ao gravar o arquivo recebido",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     @PostMapping("/upload")
-    public CompletableFuture<DocumentImport> uploadDocuments(
+    public ResponseEntity<?> uploadDocuments(
             @Parameter(description = "Arquivo CSV para importação de documentos", required = true,
                     content = @Content(mediaType = "multipart/form-data"),
                     schema = @Schema(type = "string", format = "binary"))
-            @RequestParam("file") MultipartFile file) {
-        return documentImportService.saveDocumentsFromCSV(file);
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Motor de importação: JPA (padrão) ou BULK")
+            @RequestParam(value = "mode", defaultValue = "JPA") ImportMode mode,
+            @Parameter(description = "Tenant da importação, usado para distribuir a fila de forma justa")
+            @RequestHeader(value = "X-Tenant-Id", defaultValue = "default") String tenant) {
+        if (tenant.isBlank() || tenant.length() > TENANT_MAX_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("O cabeçalho X-Tenant-Id deve ter entre 1 e " + TENANT_MAX_LENGTH + " caracteres.");
+        }
+        try {
+            DocumentImport documentImport = documentImportService.submitImport(file, mode, tenant);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/documentImport/" + documentImport.getId() + "/progress"))
+                    .body(documentImport);
+        } catch (ImportQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(e.getMessage());
+        } catch (UncheckedIOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro ao gravar o arquivo CSV.");
+        }
     }
 }
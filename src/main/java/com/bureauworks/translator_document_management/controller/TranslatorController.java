@@ -1,6 +1,8 @@
 package com.bureauworks.translator_document_management.controller;
 
-import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.ResourceVersion;
+import com.bureauworks.translator_document_management.dto.SearchMode;
 import com.bureauworks.translator_document_management.service.DocumentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,15 +14,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.bureauworks.translator_document_management.entity.Translator;
 import com.bureauworks.translator_document_management.exception.EmailAlreadyExistsException;
+import com.bureauworks.translator_document_management.exception.PreconditionFailedException;
 import com.bureauworks.translator_document_management.service.TranslatorService;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1/translators")
 @Tag(name = "TranslatorController", description = "Gerenciamento de tradutores")
@@ -32,24 +36,55 @@ public class TranslatorController {
     @Autowired
     private DocumentService documentService;
 
-    @Operation(summary = "Obtém todos os tradutores", description = "Retorna uma lista paginada de todos os tradutores")
+    @Operation(summary = "Obtém todos os tradutores",
+            description = "Retorna uma lista paginada de todos os tradutores. Com count=false a contagem total " +
+                    "é omitida e a resposta traz apenas se há próxima página")
     @GetMapping
-    public ResponseEntity<Page<Translator>> getAllTranslators(@RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Slice<Translator>> getAllTranslators(@RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean count) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Translator> translators = translatorService.findAll(pageable);
+        Slice<Translator> translators = count ? translatorService.findAll(pageable)
+                : translatorService.findAllWithoutCount(pageable);
         return new ResponseEntity<>(translators, HttpStatus.OK);
     }
 
+    @Operation(summary = "Obtém todos os tradutores por cursor",
+            description = "Percorre todos os tradutores do mais recente ao mais antigo sem OFFSET nem contagem. " +
+                    "Envie o nextCursor da resposta para obter a página seguinte")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtida com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido",
+                    content = @Content(schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("/cursor")
+    public ResponseEntity<?> getAllTranslatorsByCursor(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            CursorPage<Translator> translators = translatorService.findAllByCursor(cursor, CursorPage.clampSize(size));
+            return new ResponseEntity<>(translators, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Pesquisa tradutores",
-            description = "Retorna uma lista paginada de tradutores que correspondem ao texto de pesquisa")
+            description = "Retorna uma lista paginada de tradutores cujo nome ou e-mail contém o texto de pesquisa. " +
+                    "Com mode=FUZZY a busca tolera erros de digitação e ordena pela similaridade")
     @GetMapping("/search")
-    public ResponseEntity<Page<Translator>> searchTranslators(
+    public ResponseEntity<?> searchTranslators(
             @RequestParam String text,
+            @RequestParam(defaultValue = "LIKE") SearchMode mode,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
+        if (mode != SearchMode.LIKE && mode != SearchMode.FUZZY) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Modo de pesquisa não suportado para tradutores.");
+        }
         Pageable pageable = PageRequest.of(page, size);
-        Page<Translator> translators = translatorService.searchTranslators(text, pageable);
+        Page<Translator> translators = mode == SearchMode.FUZZY
+                ? translatorService.searchTranslatorsBySimilarity(text, pageable)
+                : translatorService.searchTranslators(text, pageable);
         return new ResponseEntity<>(translators, HttpStatus.OK);
     }
 
@@ -76,18 +111,28 @@ public class TranslatorController {
     }
 
     @Operation(summary = "Obtém um tradutor pelo ID",
-            description = "Retorna os detalhes de um tradutor através do seu ID")
+            description = "Retorna os detalhes de um tradutor através do seu ID, com ETag e Last-Modified. Com " +
+                    "If-None-Match ou If-Modified-Since ainda válidos responde 304, sem corpo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tradutor encontrado",
+                    content = @Content(schema = @Schema(implementation = Translator.class))),
+            @ApiResponse(responseCode = "304", description = "Tradutor não modificado",
+                    content = @Content(schema = @Schema(implementation = Void.class))),
+            @ApiResponse(responseCode = "404", description = "Tradutor não encontrado",
+                    content = @Content(schema = @Schema(implementation = Void.class)))
+    })
     @GetMapping("/{id}")
     public ResponseEntity<Translator> getTranslatorById(@PathVariable Long id) {
         Translator translator = translatorService.findById(id);
         if (translator == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        return ResponseEntity.ok(translator);
+        return ResourceVersion.of(translator).applyTo(ResponseEntity.ok()).body(translator);
     }
 
     @Operation(summary = "Atualiza um tradutor",
-            description = "Atualiza os detalhes de um tradutor existente através do seu ID")
+            description = "Atualiza os detalhes de um tradutor existente através do seu ID. Com If-Match, a " +
+                    "atualização só é feita se a ETag informada for a da versão atual")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tradutor atualizado com sucesso",
                     content = @Content(schema = @Schema(implementation = Translator.class))),
@@ -95,23 +140,32 @@ public class TranslatorController {
                     content = @Content(schema = @Schema(implementation = String.class))),
             @ApiResponse(responseCode = "404", description = "Tradutor não encontrado",
                     content = @Content(schema = @Schema(implementation = Void.class))),
-            @ApiResponse(responseCode = "409", description = "E-mail já existe",
+            @ApiResponse(responseCode = "409", description = "E-mail já existe ou tradutor alterado por outra " +
+                    "requisição durante a atualização",
+                    content = @Content(schema = @Schema(implementation = String.class))),
+            @ApiResponse(responseCode = "412", description = "If-Match não corresponde à versão atual do tradutor",
                     content = @Content(schema = @Schema(implementation = String.class)))
     })
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTranslator(@PathVariable Long id, @RequestBody Translator newTranslator) {
+    public ResponseEntity<?> updateTranslator(@PathVariable Long id, @RequestBody Translator newTranslator,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             Translator translator = translatorService.findById(id);
             if (translator == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
 
-            Translator updatedTranslator = translatorService.update(translator, newTranslator);
-            return ResponseEntity.ok(updatedTranslator);
+            Translator updatedTranslator = translatorService.update(translator, newTranslator, ifMatch);
+            return ResourceVersion.of(updatedTranslator).applyTo(ResponseEntity.ok()).body(updatedTranslator);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (EmailAlreadyExistsException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("O tradutor foi alterado por outra requisição. Obtenha a versão atual e tente novamente.");
         }
     }
 
@@ -124,12 +178,11 @@ public class TranslatorController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
 
-        List<Document> documents = documentService.findAllByTranslatorId(id);
-        if (!documents.isEmpty()) {
+        if (documentService.existsByTranslatorId(id)) {
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
 
-        translatorService.deleteById(id);
+        translatorService.delete(translator);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 }
@@ -0,0 +1,30 @@
+package com.bureauworks.translator_document_management.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor. Não há total nem número de página: {@code nextCursor} leva à página seguinte
+ * e é {@code null} na última.
+ */
+public record CursorPage<T>(List<T> content, int size, boolean hasNext, String nextCursor) {
+
+    public static final int MAX_SIZE = 100;
+
+    /** Tamanho de página aceito: entre 1 e {@link #MAX_SIZE}. */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code size + 1} linhas; a linha excedente só indica que
+     * existe uma próxima página.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, false, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, size, true, cursorOf.apply(content.get(size - 1)).encode());
+    }
+}
@@ -0,0 +1,27 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.bureauworks.translator_document_management.entity.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Documento exportado, com o conteúdo e os ids do tradutor e da importação. Os ids saem das chaves estrangeiras,
+ * sem carregar as associações.
+ */
+public record DocumentExportRow(Long id, String subject, String content, String location, String author,
+                                Long translatorId, Long documentImportId, LocalDateTime createdAt) {
+
+    public static final String[] HEADERS = {"id", "subject", "content", "location", "author", "translator_id",
+            "document_import_id", "created_at"};
+
+    public static DocumentExportRow of(Document document) {
+        return new DocumentExportRow(document.getId(), document.getSubject(), document.getContent(),
+                document.getLocation(), document.getAuthor(), document.getTranslator().getId(),
+                document.getDocumentImport() == null ? null : document.getDocumentImport().getId(),
+                document.getCreatedAt());
+    }
+
+    public Object[] values() {
+        return new Object[]{id, subject, content, location, author, translatorId, documentImportId, createdAt};
+    }
+}
@@ -0,0 +1,33 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Resultado da busca textual de documentos: os campos resumidos do documento, a relevância ({@code ts_rank_cd}) e
+ * um trecho do conteúdo com os termos encontrados destacados ({@code ts_headline}).
+ */
+@JsonFilter(FieldSelection.FILTER)
+public interface DocumentSearchHit {
+
+    Set<String> FIELDS = Set.of("id", "subject", "author", "location", "createdAt", "translatorId", "rank",
+            "highlight");
+
+    Long getId();
+
+    String getSubject();
+
+    String getAuthor();
+
+    String getLocation();
+
+    LocalDateTime getCreatedAt();
+
+    Long getTranslatorId();
+
+    double getRank();
+
+    String getHighlight();
+}
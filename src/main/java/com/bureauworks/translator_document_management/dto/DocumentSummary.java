@@ -0,0 +1,18 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Documento resumido para listagens e pesquisas: sem o conteúdo e apenas com os ids do tradutor e da importação,
+ * lidos direto das chaves estrangeiras. O conteúdo é obtido em {@code GET /api/v1/documents/{id}}.
+ */
+@JsonFilter(FieldSelection.FILTER)
+public record DocumentSummary(Long id, String subject, String location, String author, LocalDateTime createdAt,
+                              Long translatorId, Long documentImportId) {
+
+    public static final Set<String> FIELDS = Set.of("id", "subject", "location", "author", "createdAt",
+            "translatorId", "documentImportId");
+}
@@ -0,0 +1,26 @@
+package com.bureauworks.translator_document_management.dto;
+
+/**
+ * Formato da exportação de documentos: {@code NDJSON} grava um objeto JSON por linha; {@code CSV} grava um
+ * cabeçalho e uma linha por documento.
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
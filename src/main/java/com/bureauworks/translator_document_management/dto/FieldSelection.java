@@ -0,0 +1,51 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Seleção de campos da resposta ({@code fields=id,subject}). Vale para os tipos anotados com
+ * {@code @JsonFilter(FieldSelection.FILTER)}; sem seleção, todos os campos são serializados.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER = "fields";
+
+    /** Provedor usado quando a resposta não traz seleção: serializa todos os campos. */
+    public static final SimpleFilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    private FieldSelection() {
+    }
+
+    /**
+     * @param fields    nomes separados por vírgula; vazio ou {@code null} para todos
+     * @param available campos que podem ser selecionados
+     * @throws IllegalArgumentException se algum campo não estiver disponível
+     */
+    public static MappingJacksonValue apply(Object body, String fields, Set<String> available) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (fields == null || fields.isBlank()) {
+            value.setFilters(SERIALIZE_ALL);
+            return value;
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty()).forEach(selected::add);
+        Set<String> unknown = new TreeSet<>(selected);
+        unknown.removeAll(available);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Campos inválidos: " + String.join(", ", unknown) +
+                    ". Disponíveis: " + String.join(", ", new TreeSet<>(available)) + ".");
+        }
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected)));
+        return value;
+    }
+}
@@ -0,0 +1,32 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Progresso de uma importação. A vazão considera as linhas lidas desde o início do processamento até o término
+ * (ou até agora, se a importação ainda estiver em andamento).
+ */
+public record ImportProgress(Long id, String fileName, ImportStatus status, String message, long rowsRead,
+                             long rowsPersisted, long errorCount, LocalDateTime startedAt,
+                             LocalDateTime finishedAt, double rowsPerSecond) {
+
+    public static ImportProgress of(DocumentImport documentImport, LocalDateTime now) {
+        return new ImportProgress(documentImport.getId(), documentImport.getFileName(), documentImport.getStatus(),
+                documentImport.getMessage(), documentImport.getRowsRead(), documentImport.getRowsPersisted(),
+                documentImport.getErrorCount(), documentImport.getStartedAt(), documentImport.getFinishedAt(),
+                rowsPerSecond(documentImport, now));
+    }
+
+    private static double rowsPerSecond(DocumentImport documentImport, LocalDateTime now) {
+        if (documentImport.getStartedAt() == null) {
+            return 0;
+        }
+        LocalDateTime end = documentImport.getFinishedAt() != null ? documentImport.getFinishedAt() : now;
+        long millis = Duration.between(documentImport.getStartedAt(), end).toMillis();
+        return millis <= 0 ? 0 : documentImport.getRowsRead() * 1000.0 / millis;
+    }
+}
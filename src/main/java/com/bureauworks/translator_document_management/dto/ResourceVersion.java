@@ -0,0 +1,68 @@
+package com.bureauworks.translator_document_management.dto;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETag forte e Last-Modified de um recurso, derivados da coluna de versão e de {@code updated_at}. Com eles no
+ * {@link ResponseEntity}, um GET com If-None-Match ou If-Modified-Since ainda válidos responde 304 sem corpo.
+ */
+public record ResourceVersion(String eTag, Instant lastModified) {
+
+    // O cliente guarda a resposta, mas a revalida a cada uso
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    public static ResourceVersion of(Translator translator) {
+        return new ResourceVersion(String.valueOf(translator.getVersion()),
+                lastModified(translator.getCreatedAt(), translator.getUpdatedAt()));
+    }
+
+    /** O documento é serializado com o seu tradutor, então a versão do tradutor também compõe a ETag. */
+    public static ResourceVersion of(Document document) {
+        ResourceVersion translator = of(document.getTranslator());
+        Instant lastModified = lastModified(document.getCreatedAt(), document.getUpdatedAt());
+        if (lastModified == null || translator.lastModified() != null
+                && translator.lastModified().isAfter(lastModified)) {
+            lastModified = translator.lastModified();
+        }
+        return new ResourceVersion(document.getVersion() + "-" + translator.eTag(), lastModified);
+    }
+
+    public <B extends ResponseEntity.HeadersBuilder<B>> B applyTo(B builder) {
+        builder.eTag(eTag).cacheControl(CACHE_CONTROL);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    /**
+     * Avalia o cabeçalho If-Match com comparação forte: ETags fracas ({@code W/"..."}) nunca correspondem. Sem o
+     * cabeçalho, a condição é atendida.
+     */
+    public boolean matches(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        String quoted = "\"" + eTag + "\"";
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Registros gravados antes da coluna updated_at não a têm preenchida
+    private static Instant lastModified(LocalDateTime createdAt, LocalDateTime updatedAt) {
+        LocalDateTime modified = updatedAt != null ? updatedAt : createdAt;
+        return modified == null ? null : modified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
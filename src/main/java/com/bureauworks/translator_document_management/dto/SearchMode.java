@@ -0,0 +1,14 @@
+package com.bureauworks.translator_document_management.dto;
+
+/**
+ * Modo de pesquisa: {@code LIKE} compara trechos dos campos (comportamento original); {@code FULLTEXT} usa a busca
+ * textual do PostgreSQL, com radicalização pelo idioma do documento, relevância e destaque (apenas documentos);
+ * {@code FUZZY} ordena por similaridade de trigramas e tolera erros de digitação (tradutores e importações);
+ * {@code INDEX} consulta o índice invertido local, sem acessar o banco (apenas documentos, quando habilitado).
+ */
+public enum SearchMode {
+    LIKE,
+    FULLTEXT,
+    FUZZY,
+    INDEX
+}
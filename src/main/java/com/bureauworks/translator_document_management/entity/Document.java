@@ -1,7 +1,8 @@
 package com.bureauworks.translator_document_management.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -11,12 +12,16 @@ import java.time.LocalDateTime;
 @Table(name = "document", indexes = {
         @Index(name = "idx_document_subject", columnList = "subject"),
         @Index(name = "idx_document_location", columnList = "location"),
-        @Index(name = "idx_document_author", columnList = "author")
+        @Index(name = "idx_document_author", columnList = "author"),
+        @Index(name = "idx_document_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_document_translator_id_id", columnList = "translator_id, id"),
+        @Index(name = "idx_document_import_id_id", columnList = "document_import_id, id")
 })
 public class Document {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_seq")
+    @SequenceGenerator(name = "document_seq", sequenceName = "document_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O assunto é obrigatório.")
@@ -24,8 +29,7 @@ public class Document {
     private String subject;
 
     @NotBlank(message = "O conteúdo é obrigatório.")
-    @Lob
-    @Column(columnDefinition = "TEXT", nullable = false)
+    @Column(columnDefinition = "TEXT", length = Integer.MAX_VALUE, nullable = false)
     private String content;
 
     private String location;
@@ -35,18 +39,27 @@ public class Document {
     private String author;
 
     @NotNull(message = "O tradutor é obrigatório.")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "translator_id", nullable = false)
     private Translator translator;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "document_import_id", nullable = true)
-    @JsonBackReference
+    @JsonIgnore
     private DocumentImport documentImport;
 
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Incrementada a cada atualização; compõe a ETag das respostas. O default preenche as linhas já existentes
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Document() {
     }
 
@@ -70,6 +83,12 @@ public class Document {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     // Getters and Setters
@@ -77,6 +96,11 @@ public class Document {
         return id;
     }
 
+    // Usado pela importação via COPY, que reserva os ids da sequence por conta própria
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public String getSubject() {
         return subject;
     }
@@ -132,4 +156,16 @@ public class Document {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
\ No newline at end of file
@@ -1,19 +1,27 @@
 package com.bureauworks.translator_document_management.entity;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.bureauworks.translator_document_management.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "document_imports", indexes = {
-        @Index(name = "idx_import_fileName", columnList = "fileName")
+        @Index(name = "idx_import_fileName", columnList = "fileName"),
+        @Index(name = "idx_import_queue", columnList = "status, priority, created_at"),
+        @Index(name = "idx_import_created_at_id", columnList = "created_at, id")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.DOCUMENT_IMPORT_REGION)
 public class DocumentImport {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "document_imports_seq")
+    @SequenceGenerator(name = "document_imports_seq", sequenceName = "document_imports_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "file_name", nullable = false)
@@ -25,12 +33,72 @@ public class DocumentImport {
     @Column(name = "message", nullable = false)
     private String message;
 
+    // Importações anteriores a esta coluna eram gravadas somente ao terminar
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 32)
+    @ColumnDefault("'COMPLETED'")
+    private ImportStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 16)
+    @ColumnDefault("'JPA'")
+    private ImportMode mode;
+
+    @Column(name = "tenant", nullable = false, length = 100)
+    @ColumnDefault("'default'")
+    private String tenant;
+
+    @Column(name = "file_size", nullable = false)
+    @ColumnDefault("0")
+    private long fileSize;
+
+    /** Faixa de prioridade na fila: 0 para arquivos pequenos, que são processados primeiro. */
+    @Column(name = "priority", nullable = false)
+    @ColumnDefault("0")
+    private int priority;
+
+    /** Nó que reservou a importação e até quando a reserva vale; expirada, outro nó pode assumi-la. */
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    /** Indica que todos os blocos do arquivo já foram registrados em {@code import_chunk}. */
+    @Column(name = "planned", nullable = false)
+    @ColumnDefault("false")
+    private boolean planned;
+
+    // Mantido por importação para que uma retomada gere os mesmos blocos, mesmo que a configuração mude
+    @Column(name = "chunk_size", nullable = false)
+    @ColumnDefault("0")
+    private int chunkSize;
+
+    @Column(name = "rows_read", nullable = false)
+    @ColumnDefault("0")
+    private long rowsRead;
+
+    @Column(name = "rows_persisted", nullable = false)
+    @ColumnDefault("0")
+    private long rowsPersisted;
+
+    @Column(name = "error_count", nullable = false)
+    @ColumnDefault("0")
+    private long errorCount;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Fora do JSON: os totais estão em rowsPersisted/errorCount e as listas em /{id}/documents e /{id}/errors
     @OneToMany(mappedBy = "documentImport", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonManagedReference
+    @JsonIgnore
     private List<ImportError> importErrors;
 
     @OneToMany(mappedBy = "documentImport", cascade = CascadeType.ALL, orphanRemoval = true)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Document> documents;
 
     public DocumentImport() {
@@ -39,8 +107,15 @@ public class DocumentImport {
     }
 
     public DocumentImport(String fileName, String message) {
+        this(fileName, message, ImportMode.JPA);
+    }
+
+    public DocumentImport(String fileName, String message, ImportMode mode) {
         this.fileName = fileName;
         this.message = message;
+        this.mode = mode;
+        this.status = ImportStatus.QUEUED;
+        this.tenant = "default";
         this.importErrors = new ArrayList<>();
         this.documents = new ArrayList<>();
     }
@@ -79,6 +154,94 @@ public class DocumentImport {
         this.message = message;
     }
 
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public ImportMode getMode() {
+        return mode;
+    }
+
+    public void setMode(ImportMode mode) {
+        this.mode = mode;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(String tenant) {
+        this.tenant = tenant;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public boolean isPlanned() {
+        return planned;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsPersisted() {
+        return rowsPersisted;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
     public List<ImportError> getImportErrors() {
         return importErrors;
     }
@@ -0,0 +1,148 @@
+package com.bureauworks.translator_document_management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Faixa de linhas de uma importação. Os blocos são planejados a partir do arquivo enviado e depois reservados e
+ * gravados por workers de qualquer nó, que leem as linhas do próprio bloco em {@link #getPayload()}. A passagem
+ * para {@link ImportChunkStatus#DONE} acontece na mesma transação dos documentos do bloco, de modo que um bloco
+ * nunca é gravado duas vezes.
+ *
+ * <p>As posições são relativas ao início dos dados, logo após a linha de cabeçalho do arquivo, e servem para
+ * retomar um planejamento interrompido.</p>
+ */
+@Entity
+@Table(name = "import_chunk", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_import_chunk_index", columnNames = {"document_import_id", "chunk_index"})
+}, indexes = {
+        @Index(name = "idx_import_chunk_status", columnList = "status")
+})
+public class ImportChunk {
+
+    // allocationSize = 1: as linhas são inseridas por SQL nativo com nextval
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_chunk_seq")
+    @SequenceGenerator(name = "import_chunk_seq", sequenceName = "import_chunk_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_import_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DocumentImport documentImport;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    /** Posição (em caracteres) do primeiro registro do bloco. */
+    @Column(name = "start_offset", nullable = false)
+    private long startOffset;
+
+    /** Número, no parser CSV, do primeiro registro do bloco. */
+    @Column(name = "start_record", nullable = false)
+    private long startRecord;
+
+    /** Número da linha (como reportado nos erros) do primeiro registro do bloco. */
+    @Column(name = "first_row_num", nullable = false)
+    private int firstRowNum;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    /** Linhas de dados do bloco em CSV, sem o cabeçalho. Removidas quando o bloco é gravado. */
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private ImportChunkStatus status;
+
+    /** Nó que reservou o bloco por último. */
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "attempts", nullable = false)
+    @ColumnDefault("0")
+    private int attempts;
+
+    @Column(name = "committed_at")
+    private LocalDateTime committedAt;
+
+    public ImportChunk() {
+    }
+
+    public ImportChunk(DocumentImport documentImport, int chunkIndex, long startOffset, long startRecord,
+                       int firstRowNum, int rowCount) {
+        this.documentImport = documentImport;
+        this.chunkIndex = chunkIndex;
+        this.startOffset = startOffset;
+        this.startRecord = startRecord;
+        this.firstRowNum = firstRowNum;
+        this.rowCount = rowCount;
+        this.status = ImportChunkStatus.PENDING;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public DocumentImport getDocumentImport() {
+        return documentImport;
+    }
+
+    public int getChunkIndex() {
+        return chunkIndex;
+    }
+
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    public long getStartRecord() {
+        return startRecord;
+    }
+
+    public int getFirstRowNum() {
+        return firstRowNum;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public ImportChunkStatus getStatus() {
+        return status;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /** Última linha do bloco, na numeração reportada nos erros. */
+    public int getLastRowNum() {
+        return firstRowNum + rowCount - 1;
+    }
+
+    public LocalDateTime getCommittedAt() {
+        return committedAt;
+    }
+}
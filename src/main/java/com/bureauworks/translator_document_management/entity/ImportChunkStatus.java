@@ -0,0 +1,13 @@
+package com.bureauworks.translator_document_management.entity;
+
+/**
+ * Situação de um bloco de uma importação.
+ */
+public enum ImportChunkStatus {
+    /** Planejado, aguardando um worker de qualquer nó. */
+    PENDING,
+    /** Reservado por um nó até {@code locked_until}. */
+    RUNNING,
+    /** Documentos e erros do bloco gravados. */
+    DONE
+}
@@ -1,22 +1,27 @@
 package com.bureauworks.translator_document_management.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.bureauworks.translator_document_management.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "import_error")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = HibernateCacheConfig.IMPORT_ERROR_REGION)
 public class ImportError {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_error_seq")
+    @SequenceGenerator(name = "import_error_seq", sequenceName = "import_error_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String message;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "document_import_id", nullable = false)
-    @JsonBackReference
+    @JsonIgnore
     private DocumentImport documentImport;
 
     public ImportError() {}
@@ -26,6 +31,10 @@ public class ImportError {
         this.documentImport = documentImport;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public String getMessage() {
         return message;
     }
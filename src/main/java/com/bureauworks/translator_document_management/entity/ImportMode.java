@@ -0,0 +1,11 @@
+package com.bureauworks.translator_document_management.entity;
+
+/**
+ * Motor de persistência utilizado por uma importação de CSV.
+ */
+public enum ImportMode {
+    /** INSERTs em lote via JPA/Hibernate. */
+    JPA,
+    /** COPY FROM STDIN do PostgreSQL, sem passar pelo contexto de persistência. */
+    BULK
+}
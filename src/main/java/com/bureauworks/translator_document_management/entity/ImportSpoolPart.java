@@ -0,0 +1,53 @@
+package com.bureauworks.translator_document_management.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Parte do arquivo enviado para uma importação, guardado no banco até o fim do planejamento para que qualquer nó
+ * possa planejá-la. As partes são lidas em ordem de {@code partIndex}; uma importação vazia tem uma única parte
+ * sem bytes.
+ */
+@Entity
+@Table(name = "import_spool_part", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_import_spool_part_index", columnNames = {"document_import_id", "part_index"})
+})
+public class ImportSpoolPart {
+
+    // allocationSize = 1: as linhas são inseridas por SQL nativo com nextval
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_spool_part_seq")
+    @SequenceGenerator(name = "import_spool_part_seq", sequenceName = "import_spool_part_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "document_import_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private DocumentImport documentImport;
+
+    @Column(name = "part_index", nullable = false)
+    private int partIndex;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    public ImportSpoolPart() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public DocumentImport getDocumentImport() {
+        return documentImport;
+    }
+
+    public int getPartIndex() {
+        return partIndex;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bureauworks.translator_document_management.entity;
+
+/**
+ * Situação de uma importação de CSV.
+ */
+public enum ImportStatus {
+    /** Arquivo recebido e gravado no banco, aguardando processamento. */
+    QUEUED,
+    /** Linhas sendo lidas e persistidas. */
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_ERRORS,
+    FAILED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
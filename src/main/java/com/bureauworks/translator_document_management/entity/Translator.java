@@ -1,7 +1,11 @@
 package com.bureauworks.translator_document_management.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.bureauworks.translator_document_management.config.HibernateCacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
@@ -11,8 +15,10 @@ import java.util.List;
 @Entity
 @Table(name = "translator", indexes = {
         @Index(name = "idx_translator_name", columnList = "name"),
-        @Index(name = "idx_translator_email", columnList = "email")
+        @Index(name = "idx_translator_email", columnList = "email"),
+        @Index(name = "idx_translator_created_at_id", columnList = "created_at, id")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.TRANSLATOR_REGION)
 public class Translator {
 
     @Id
@@ -43,6 +49,15 @@ public class Translator {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // Incrementada a cada atualização; compõe a ETag das respostas. O default preenche as linhas já existentes
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public Translator() {
     }
 
@@ -57,6 +72,12 @@ public class Translator {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 
     // Getters and Setters
@@ -111,4 +132,16 @@ public class Translator {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
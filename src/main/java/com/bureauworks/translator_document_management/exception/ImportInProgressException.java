@@ -0,0 +1,7 @@
+package com.bureauworks.translator_document_management.exception;
+
+public class ImportInProgressException extends RuntimeException {
+    public ImportInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bureauworks.translator_document_management.exception;
+
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+}
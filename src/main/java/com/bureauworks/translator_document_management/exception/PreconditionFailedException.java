@@ -0,0 +1,7 @@
+package com.bureauworks.translator_document_management.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
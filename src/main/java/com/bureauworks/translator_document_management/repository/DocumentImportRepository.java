@@ -1,20 +1,173 @@
 package com.bureauworks.translator_document_management.repository;
 
 import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
 public interface DocumentImportRepository extends JpaRepository<DocumentImport, Long> {
 
+    // LOWER(...) LIKE corresponde à expressão do índice de trigramas idx_import_file_name_trgm
     @Query("SELECT d FROM DocumentImport d WHERE " +
             "LOWER(d.fileName) LIKE LOWER(CONCAT('%', :text, '%')) ORDER BY d.createdAt DESC")
     Page<DocumentImport> searchByText(@Param("text") String text, Pageable pageable);
 
+    /** Busca aproximada pelo nome do arquivo (pg_trgm), ordenada pela similaridade. */
+    @Query(value = "SELECT d.* FROM document_imports d WHERE lower(d.file_name) % lower(:text) " +
+            "ORDER BY similarity(lower(d.file_name), lower(:text)) DESC, d.id DESC",
+            countQuery = "SELECT count(*) FROM document_imports d WHERE lower(d.file_name) % lower(:text)",
+            nativeQuery = true)
+    Page<DocumentImport> searchBySimilarity(@Param("text") String text, Pageable pageable);
+
     @Query("SELECT d FROM DocumentImport d ORDER BY d.createdAt DESC")
     Page<DocumentImport> findAllByOrderByCreateAtDesc(Pageable pageable);
+
+    @Query("SELECT d FROM DocumentImport d ORDER BY d.createdAt DESC")
+    Slice<DocumentImport> findSliceOrderByCreateAtDesc(Pageable pageable);
+
+    // Paginação por cursor (keyset): servida pelo índice (created_at, id), sem OFFSET nem COUNT
+    @Query("SELECT d FROM DocumentImport d ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentImport> findKeysetPage(Pageable pageable);
+
+    @Query("SELECT d FROM DocumentImport d WHERE (d.createdAt, d.id) < (:createdAt, :id) " +
+            "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentImport> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable pageable);
+
+    long countByStatus(ImportStatus status);
+
+    // Lê a linha no banco, sem o cache de segundo nível: o progresso muda a cada bloco, gravado por qualquer nó
+    @Query("SELECT d FROM DocumentImport d WHERE d.id = :id")
+    Optional<DocumentImport> findCurrentById(@Param("id") Long id);
+
+    // Confirma no banco, sem o cache de segundo nível, que a importação não foi removida por outro nó
+    @Query("SELECT COUNT(d) > 0 FROM DocumentImport d WHERE d.id = :id")
+    boolean existsCurrentById(@Param("id") Long id);
+
+    // Bloqueia a linha até o fim da transação: a fila (SKIP LOCKED) não reserva a importação enquanto isso
+    @Query(value = "SELECT status FROM document_imports WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<ImportStatus> lockStatusById(@Param("id") Long id);
+
+    // Remove sem carregar as coleções; documentos e erros são apagados antes, em lote
+    @Modifying
+    @Query("DELETE FROM DocumentImport d WHERE d.id = :id")
+    int deleteImportById(@Param("id") Long id);
+
+    /**
+     * Próxima importação a planejar: na fila ou com a reserva expirada. Arquivos pequenos vêm primeiro e, dentro
+     * da mesma faixa, os tenants com menos importações em andamento. Uma importação conta como em andamento
+     * enquanto é planejada (reserva válida) e depois, já sem dono, até o último bloco ser gravado. Linhas
+     * bloqueadas por outro nó são puladas.
+     */
+    @Query(value = "SELECT d.id FROM document_imports d " +
+            "LEFT JOIN (SELECT tenant, COUNT(*) AS running FROM document_imports " +
+            "           WHERE status = 'RUNNING' AND (planned OR locked_until > now()) GROUP BY tenant) r " +
+            "       ON r.tenant = d.tenant " +
+            "WHERE (d.status = 'QUEUED' OR (d.status = 'RUNNING' AND (d.locked_until IS NULL OR d.locked_until <= now()))) " +
+            "AND NOT d.planned AND COALESCE(r.running, 0) < :maxRunningPerTenant " +
+            "ORDER BY d.priority, COALESCE(r.running, 0), d.created_at, d.id " +
+            "LIMIT 1 FOR UPDATE OF d SKIP LOCKED", nativeQuery = true)
+    Optional<Long> findNextClaimableId(@Param("maxRunningPerTenant") int maxRunningPerTenant);
+
+    // Os comandos nativos declaram a tabela alterada; sem isso o Hibernate esvaziaria todas as regiões do
+    // cache de segundo nível a cada execução
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "document_imports"))
+    @Query(value = "UPDATE document_imports SET status = 'RUNNING', locked_by = :lockedBy, " +
+            "locked_until = now() + :leaseSeconds * INTERVAL '1 second' WHERE id = :id", nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("lockedBy") String lockedBy, @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "document_imports"))
+    @Query(value = "UPDATE document_imports SET locked_until = now() + :leaseSeconds * INTERVAL '1 second' " +
+            "WHERE locked_by = :lockedBy AND status = 'RUNNING'", nativeQuery = true)
+    int renewLeases(@Param("lockedBy") String lockedBy, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Conclui o planejamento. A partir daqui a importação não tem mais dono: os blocos são reservados
+     * individualmente e a importação é finalizada pelo worker que gravar o último bloco.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "document_imports"))
+    @Query(value = "UPDATE document_imports SET planned = true, locked_by = NULL, locked_until = NULL " +
+            "WHERE id = :id", nativeQuery = true)
+    int markPlanned(@Param("id") Long id);
+
+    /**
+     * Finaliza a importação se ela já foi planejada e todos os blocos foram gravados. Apenas um worker consegue
+     * finalizar: os demais encontram a importação fora da situação RUNNING.
+     *
+     * @return 1 se a importação foi finalizada por esta chamada
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "document_imports"))
+    @Query(value = "UPDATE document_imports d SET " +
+            "status = CASE WHEN d.error_count = 0 THEN 'COMPLETED' ELSE 'COMPLETED_WITH_ERRORS' END, " +
+            "message = CASE WHEN d.error_count = 0 THEN :successMessage ELSE :errorMessage END, " +
+            "finished_at = :finishedAt, locked_by = NULL, locked_until = NULL " +
+            "WHERE d.id = :id AND d.status = 'RUNNING' AND d.planned " +
+            "AND NOT EXISTS (SELECT 1 FROM import_chunk c WHERE c.document_import_id = d.id AND c.status <> 'DONE')",
+            nativeQuery = true)
+    int completeIfDone(@Param("id") Long id, @Param("successMessage") String successMessage,
+                       @Param("errorMessage") String errorMessage, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Devolve à fila uma importação interrompida durante o planejamento, desde que ainda esteja reservada pelo nó
+     * informado.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "document_imports"))
+    @Query(value = "UPDATE document_imports SET status = 'QUEUED', locked_by = NULL, locked_until = NULL " +
+            "WHERE id = :id AND status = 'RUNNING' AND NOT planned AND locked_by = :lockedBy", nativeQuery = true)
+    int release(@Param("id") Long id, @Param("lockedBy") String lockedBy);
+
+    // Uma importação retomada mantém o início original
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentImport d SET d.status = :status, d.startedAt = COALESCE(d.startedAt, :startedAt) " +
+            "WHERE d.id = :id")
+    int markStarted(@Param("id") Long id, @Param("status") ImportStatus status,
+                    @Param("startedAt") LocalDateTime startedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentImport d SET d.status = :status, d.message = :message, d.finishedAt = :finishedAt, " +
+            "d.lockedBy = NULL, d.lockedUntil = NULL WHERE d.id = :id")
+    int markFinished(@Param("id") Long id, @Param("status") ImportStatus status, @Param("message") String message,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentImport d SET d.rowsRead = :rowsRead WHERE d.id = :id")
+    int updateRowsRead(@Param("id") Long id, @Param("rowsRead") long rowsRead);
+
+    /**
+     * Soma os contadores de um bloco gravado. Executado na transação do bloco, de modo que o progresso
+     * nunca conta linhas que acabaram desfeitas.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE DocumentImport d SET d.rowsPersisted = d.rowsPersisted + :documents, " +
+            "d.errorCount = d.errorCount + :errors WHERE d.id = :id")
+    int incrementProgress(@Param("id") Long id, @Param("documents") long documents, @Param("errors") long errors);
 }
@@ -1,27 +1,132 @@
 package com.bureauworks.translator_document_management.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
 import com.bureauworks.translator_document_management.entity.Document;
+import jakarta.persistence.QueryHint;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
-    @Query("SELECT d FROM Document d WHERE " +
+    // search_vector, document_ts_config e document_ts_query são criados por db/document-search.sql.
+    // ts_headline é caro e o PostgreSQL só o avalia para as linhas que sobram após o ORDER BY/LIMIT.
+    String FULL_TEXT_SEARCH = "SELECT d.id AS \"id\", d.subject AS \"subject\", d.author AS \"author\", " +
+            "d.location AS \"location\", d.created_at AS \"createdAt\", d.translator_id AS \"translatorId\", " +
+            "ts_rank_cd(d.search_vector, q) AS \"rank\", " +
+            "ts_headline(document_ts_config(d.location), left(d.content, 100000), q, " +
+            "'MaxFragments=2, MinWords=5, MaxWords=20') AS \"highlight\" " +
+            "FROM document d, document_ts_query(:text, :location) q " +
+            "WHERE d.search_vector @@ q " +
+            "ORDER BY ts_rank_cd(d.search_vector, q) DESC, d.id DESC";
+
+    String FULL_TEXT_COUNT = "SELECT count(*) FROM document d, document_ts_query(:text, :location) q " +
+            "WHERE d.search_vector @@ q";
+
+    // Listagens sem o conteúdo; translator.id e documentImport.id saem das chaves estrangeiras, sem JOIN
+    String SUMMARY = "SELECT new com.bureauworks.translator_document_management.dto.DocumentSummary(" +
+            "d.id, d.subject, d.location, d.author, d.createdAt, d.translator.id, d.documentImport.id) " +
+            "FROM Document d ";
+
+    String SEARCH_BY_TEXT = "WHERE " +
             "LOWER(d.subject) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(d.location) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
-            "LOWER(d.author) LIKE LOWER(CONCAT('%', :text, '%')) ORDER BY d.createdAt DESC")
-    Page<Document> searchByText(@Param("text") String text, Pageable pageable);
+            "LOWER(d.author) LIKE LOWER(CONCAT('%', :text, '%'))";
+
+    @Query(value = SUMMARY + SEARCH_BY_TEXT + " ORDER BY d.createdAt DESC",
+            countQuery = "SELECT count(d) FROM Document d " + SEARCH_BY_TEXT)
+    Page<DocumentSummary> searchByText(@Param("text") String text, Pageable pageable);
+
+    /**
+     * Busca textual por assunto, autor e conteúdo, servida pelo índice GIN de {@code search_vector}. A sintaxe é a
+     * de {@code websearch_to_tsquery} (aspas para frases, {@code or}, {@code -termo}).
+     *
+     * @param location localização cujo idioma interpreta a consulta; vazia para considerar todos os idiomas
+     */
+    @Query(value = FULL_TEXT_SEARCH, countQuery = FULL_TEXT_COUNT, nativeQuery = true)
+    Page<DocumentSearchHit> searchFullText(@Param("text") String text, @Param("location") String location,
+                                           Pageable pageable);
+
+    @Query(value = FULL_TEXT_SEARCH, nativeQuery = true)
+    Slice<DocumentSearchHit> searchFullTextWithoutCount(@Param("text") String text,
+                                                        @Param("location") String location, Pageable pageable);
+
+    @Query(value = SUMMARY + "ORDER BY d.createdAt DESC", countQuery = "SELECT count(d) FROM Document d")
+    Page<DocumentSummary> findAllByOrderByCreateAtDesc(Pageable pageable);
+
+    @Query(SUMMARY + "ORDER BY d.createdAt DESC")
+    Slice<DocumentSummary> findSliceOrderByCreateAtDesc(Pageable pageable);
+
+    // Paginação por cursor (keyset): servida pelo índice (created_at, id), sem OFFSET nem COUNT
+    @Query("SELECT d FROM Document d ORDER BY d.createdAt DESC, d.id DESC")
+    List<Document> findKeysetPage(Pageable pageable);
+
+    @Query("SELECT d FROM Document d WHERE (d.createdAt, d.id) < (:createdAt, :id) " +
+            "ORDER BY d.createdAt DESC, d.id DESC")
+    List<Document> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query(SUMMARY + "ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummary> findSummaryKeysetPage(Pageable pageable);
+
+    @Query(SUMMARY + "WHERE (d.createdAt, d.id) < (:createdAt, :id) ORDER BY d.createdAt DESC, d.id DESC")
+    List<DocumentSummary> findSummaryKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Documentos para exportação, em ordem de id. Os filtros nulos são ignorados. Deve ser consumido dentro de uma
+     * transação: o PostgreSQL só usa um cursor no servidor, lendo {@code HINT_FETCH_SIZE} linhas por vez, sem
+     * auto-commit.
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT d FROM Document d " +
+            "WHERE (:translatorId IS NULL OR d.translator.id = :translatorId) " +
+            "AND (:documentImportId IS NULL OR d.documentImport.id = :documentImportId) " +
+            "AND (:location IS NULL OR d.location = :location) " +
+            "ORDER BY d.id")
+    Stream<Document> streamForExport(@Param("translatorId") Long translatorId,
+                                     @Param("documentImportId") Long documentImportId,
+                                     @Param("location") String location);
+
+    // Detalhe do documento: o tradutor vem no mesmo SELECT
+    @EntityGraph(attributePaths = "translator")
+    Optional<Document> findWithTranslatorById(Long id);
+
+    boolean existsByTranslatorId(Long translatorId);
+
+    @Query(value = SUMMARY + "WHERE d.documentImport.id = :documentImportId ORDER BY d.id",
+            countQuery = "SELECT count(d) FROM Document d WHERE d.documentImport.id = :documentImportId")
+    Page<DocumentSummary> findSummariesByDocumentImportId(@Param("documentImportId") Long documentImportId,
+                                                          Pageable pageable);
+
+    // Documentos de importações finalizadas: a página fica no cache de consultas do Hibernate
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = SUMMARY + "WHERE d.documentImport.id = :documentImportId ORDER BY d.id",
+            countQuery = "SELECT count(d) FROM Document d WHERE d.documentImport.id = :documentImportId")
+    Page<DocumentSummary> findCachedSummariesByDocumentImportId(@Param("documentImportId") Long documentImportId,
+                                                                Pageable pageable);
 
-    @Query("SELECT d FROM Document d ORDER BY d.createdAt DESC")
-    Page<Document> findAllByOrderByCreateAtDesc(Pageable pageable);
+    @Modifying
+    @Query("DELETE FROM Document d WHERE d.documentImport.id = :documentImportId")
+    int deleteAllByDocumentImportId(@Param("documentImportId") Long documentImportId);
 
-    @Query("SELECT d FROM Document d WHERE d.translator.id = :id")
-    List<Document> findAllByTranslatorId(@Param("id") Long id);
+    long countByDocumentImportId(Long documentImportId);
 }
\ No newline at end of file
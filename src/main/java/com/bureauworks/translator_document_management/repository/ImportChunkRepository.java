@@ -0,0 +1,115 @@
+package com.bureauworks.translator_document_management.repository;
+
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ImportChunkRepository extends JpaRepository<ImportChunk, Long> {
+
+    List<ImportChunk> findAllByDocumentImportIdOrderByChunkIndex(Long documentImportId);
+
+    // Apenas as posições dos blocos planejados, sem as linhas dos blocos ainda pendentes
+    List<Position> findPositionsByDocumentImportIdOrderByChunkIndex(Long documentImportId);
+
+    @Query("SELECT c FROM ImportChunk c JOIN FETCH c.documentImport WHERE c.id = :id")
+    Optional<ImportChunk> findWithDocumentImportById(@Param("id") Long id);
+
+    // Os comandos nativos declaram a tabela alterada; sem isso o Hibernate esvaziaria todas as regiões do
+    // cache de segundo nível a cada execução
+    /**
+     * Registra o bloco como pendente, a menos que ele já tenha sido planejado.
+     *
+     * @return 1 se o bloco foi registrado agora, 0 se já existia
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_chunk"))
+    @Query(value = "INSERT INTO import_chunk (id, document_import_id, chunk_index, start_offset, start_record, " +
+            "first_row_num, row_count, payload, status, attempts) VALUES (nextval('import_chunk_seq'), " +
+            ":documentImportId, :chunkIndex, :startOffset, :startRecord, :firstRowNum, :rowCount, :payload, " +
+            "'PENDING', 0) ON CONFLICT (document_import_id, chunk_index) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("documentImportId") Long documentImportId, @Param("chunkIndex") int chunkIndex,
+                       @Param("startOffset") long startOffset, @Param("startRecord") long startRecord,
+                       @Param("firstRowNum") int firstRowNum, @Param("rowCount") int rowCount,
+                       @Param("payload") String payload);
+
+    /**
+     * Próximo bloco pendente (ou com a reserva expirada) de uma importação em andamento. Blocos de arquivos
+     * pequenos vêm primeiro e, dentro da mesma faixa, os dos tenants com menos blocos sendo gravados; um tenant
+     * grava no máximo {@code maxRunningPerTenant} blocos ao mesmo tempo, somando todos os nós. Linhas bloqueadas
+     * por outro nó são puladas.
+     */
+    @Query(value = "SELECT c.id FROM import_chunk c JOIN document_imports d ON d.id = c.document_import_id " +
+            "LEFT JOIN (SELECT i.tenant, COUNT(*) AS running FROM import_chunk rc " +
+            "           JOIN document_imports i ON i.id = rc.document_import_id " +
+            "           WHERE rc.status = 'RUNNING' AND rc.locked_until > now() GROUP BY i.tenant) r " +
+            "       ON r.tenant = d.tenant " +
+            "WHERE d.status = 'RUNNING' " +
+            "AND (c.status = 'PENDING' OR (c.status = 'RUNNING' AND c.locked_until <= now())) " +
+            "AND COALESCE(r.running, 0) < :maxRunningPerTenant " +
+            "ORDER BY d.priority, COALESCE(r.running, 0), c.document_import_id, c.chunk_index " +
+            "LIMIT 1 FOR UPDATE OF c SKIP LOCKED", nativeQuery = true)
+    Optional<Long> findNextClaimableId(@Param("maxRunningPerTenant") int maxRunningPerTenant);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_chunk"))
+    @Query(value = "UPDATE import_chunk SET status = 'RUNNING', locked_by = :lockedBy, " +
+            "locked_until = now() + :leaseSeconds * INTERVAL '1 second' WHERE id = :id", nativeQuery = true)
+    int claim(@Param("id") Long id, @Param("lockedBy") String lockedBy, @Param("leaseSeconds") long leaseSeconds);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_chunk"))
+    @Query(value = "UPDATE import_chunk SET locked_until = now() + :leaseSeconds * INTERVAL '1 second' " +
+            "WHERE locked_by = :lockedBy AND status = 'RUNNING'", nativeQuery = true)
+    int renewLeases(@Param("lockedBy") String lockedBy, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Marca o bloco como gravado e descarta as linhas dele. Executado na transação dos documentos do bloco.
+     *
+     * @return 0 se outro worker já tinha gravado o bloco
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_chunk"))
+    @Query(value = "UPDATE import_chunk SET status = 'DONE', committed_at = now(), locked_until = NULL, " +
+            "payload = NULL WHERE id = :id AND status <> 'DONE'", nativeQuery = true)
+    int markDone(@Param("id") Long id);
+
+    /**
+     * Devolve o bloco à fila, se ainda estiver reservado pelo nó informado, somando uma tentativa quando
+     * {@code failed} for verdadeiro.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_chunk"))
+    @Query(value = "UPDATE import_chunk SET status = 'PENDING', locked_by = NULL, locked_until = NULL, " +
+            "attempts = attempts + CASE WHEN :failed THEN 1 ELSE 0 END " +
+            "WHERE id = :id AND status = 'RUNNING' AND locked_by = :lockedBy", nativeQuery = true)
+    int release(@Param("id") Long id, @Param("lockedBy") String lockedBy, @Param("failed") boolean failed);
+
+    /**
+     * Onde começa um bloco planejado, no arquivo e na numeração das linhas.
+     */
+    interface Position {
+
+        int getChunkIndex();
+
+        long getStartOffset();
+
+        long getStartRecord();
+
+        int getFirstRowNum();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bureauworks.translator_document_management.repository;
+
+import com.bureauworks.translator_document_management.entity.ImportError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+@Repository
+public interface ImportErrorRepository extends JpaRepository<ImportError, Long> {
+
+    long countByDocumentImportId(Long documentImportId);
+
+    List<ImportError> findAllByDocumentImportId(Long documentImportId);
+
+    Page<ImportError> findAllByDocumentImportIdOrderById(Long documentImportId, Pageable pageable);
+
+    // Erros de importações finalizadas não mudam mais: a página fica no cache de consultas do Hibernate
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("SELECT e FROM ImportError e WHERE e.documentImport.id = :documentImportId ORDER BY e.id")
+    Page<ImportError> findCachedByDocumentImportId(@Param("documentImportId") Long documentImportId,
+                                                   Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ImportError e WHERE e.documentImport.id = :documentImportId")
+    int deleteAllByDocumentImportId(@Param("documentImportId") Long documentImportId);
+}
@@ -0,0 +1,43 @@
+package com.bureauworks.translator_document_management.repository;
+
+import com.bureauworks.translator_document_management.entity.ImportSpoolPart;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ImportSpoolPartRepository extends JpaRepository<ImportSpoolPart, Long> {
+
+    boolean existsByDocumentImportId(Long documentImportId);
+
+    // Lê apenas os bytes da parte, sem manter a entidade no contexto de persistência
+    @Query(value = "SELECT data FROM import_spool_part WHERE document_import_id = :documentImportId " +
+            "AND part_index = :partIndex", nativeQuery = true)
+    Optional<byte[]> findData(@Param("documentImportId") Long documentImportId, @Param("partIndex") int partIndex);
+
+    @Query(value = "SELECT COALESCE(SUM(length(data)), 0) FROM import_spool_part " +
+            "WHERE document_import_id = :documentImportId", nativeQuery = true)
+    long sumSize(@Param("documentImportId") Long documentImportId);
+
+    // Os comandos nativos declaram a tabela alterada; sem isso o Hibernate esvaziaria todas as regiões do
+    // cache de segundo nível a cada execução
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_spool_part"))
+    @Query(value = "INSERT INTO import_spool_part (id, document_import_id, part_index, data) " +
+            "VALUES (nextval('import_spool_part_seq'), :documentImportId, :partIndex, :data)", nativeQuery = true)
+    int insert(@Param("documentImportId") Long documentImportId, @Param("partIndex") int partIndex,
+               @Param("data") byte[] data);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "import_spool_part"))
+    @Query(value = "DELETE FROM import_spool_part WHERE document_import_id = :documentImportId", nativeQuery = true)
+    int deleteAllByDocumentImportId(@Param("documentImportId") Long documentImportId);
+}
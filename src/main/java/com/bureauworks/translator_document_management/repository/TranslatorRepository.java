@@ -1,25 +1,64 @@
 package com.bureauworks.translator_document_management.repository;
 
+import com.bureauworks.translator_document_management.config.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.bureauworks.translator_document_management.entity.Translator;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TranslatorRepository extends JpaRepository<Translator, Long> {
-    boolean existsByEmail(String email);
+    // Usado na validação de e-mail; apenas e-mails encontrados ficam em cache (removidos pelo TranslatorService)
+    @Cacheable(cacheNames = CacheConfig.TRANSLATORS_BY_EMAIL, key = "#p0", unless = "#result == null")
     Translator findByEmail(String email);
 
+    List<Translator> findAllByEmailIn(Collection<String> emails);
+
+    // Lê a linha no banco, sem o cache de segundo nível, que em outro nó pode guardar uma versão anterior
+    @Query("SELECT t FROM Translator t WHERE t.id = :id")
+    Optional<Translator> findCurrentById(@Param("id") Long id);
+
+    // LOWER(...) LIKE corresponde às expressões dos índices de trigramas criados por db/trigram-search.sql
     @Query("SELECT t FROM Translator t WHERE " +
             "LOWER(t.name) LIKE LOWER(CONCAT('%', :text, '%')) OR " +
             "LOWER(t.email) LIKE LOWER(CONCAT('%', :text, '%')) ORDER BY t.createdAt DESC")
     Page<Translator> searchByText(@Param("text") String text, Pageable pageable);
 
+    /**
+     * Busca aproximada por nome ou e-mail (operador {@code %} do pg_trgm, limiar padrão 0,3), ordenada pela
+     * similaridade. Tolera erros de digitação e também é servida pelos índices de trigramas.
+     */
+    @Query(value = "SELECT t.* FROM translator t " +
+            "WHERE lower(t.name) % lower(:text) OR lower(t.email) % lower(:text) " +
+            "ORDER BY greatest(similarity(lower(t.name), lower(:text)), " +
+            "similarity(lower(t.email), lower(:text))) DESC, t.id DESC",
+            countQuery = "SELECT count(*) FROM translator t " +
+                    "WHERE lower(t.name) % lower(:text) OR lower(t.email) % lower(:text)",
+            nativeQuery = true)
+    Page<Translator> searchBySimilarity(@Param("text") String text, Pageable pageable);
+
     @Query("SELECT t FROM Translator t ORDER BY t.createdAt DESC")
     Page<Translator> findAllByOrderByCreateAtDesc(Pageable pageable);
+
+    @Query("SELECT t FROM Translator t ORDER BY t.createdAt DESC")
+    Slice<Translator> findSliceOrderByCreateAtDesc(Pageable pageable);
+
+    // Paginação por cursor (keyset): servida pelo índice (created_at, id), sem OFFSET nem COUNT
+    @Query("SELECT t FROM Translator t ORDER BY t.createdAt DESC, t.id DESC")
+    List<Translator> findKeysetPage(Pageable pageable);
+
+    @Query("SELECT t FROM Translator t WHERE (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Translator> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable pageable);
 }
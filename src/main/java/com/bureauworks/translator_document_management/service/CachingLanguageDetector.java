@@ -0,0 +1,107 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache dos idiomas detectados, indexado pelo hash SHA-256 do trecho normalizado. Limitado por tamanho e por TTL,
+ * com métricas de acertos, falhas e remoções publicadas como {@code cache.*{cache=languageDetection}}.
+ * Resultados vazios (idioma não identificado) não são armazenados.
+ */
+@Primary
+@Service
+public class CachingLanguageDetector implements LanguageDetector {
+
+    private final LanguageDetector delegate;
+
+    private final Cache<String, String> cache;
+
+    @Autowired
+    public CachingLanguageDetector(TieredLanguageDetector delegate, MeterRegistry meterRegistry,
+                                   @Value("${language-detection.cache.maximum-size:100000}") long maximumSize,
+                                   @Value("${language-detection.cache.ttl:24h}") Duration ttl) {
+        this(delegate, meterRegistry, maximumSize, ttl, Ticker.systemTicker());
+    }
+
+    // O ticker permite avançar o relógio do TTL nos testes
+    CachingLanguageDetector(LanguageDetector delegate, MeterRegistry meterRegistry, long maximumSize, Duration ttl,
+                            Ticker ticker) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "languageDetection");
+    }
+
+    @Override
+    public String detectLanguage(String content) {
+        String languageCode = cache.get(key(content), key -> emptyToNull(delegate.detectLanguage(content)));
+        return languageCode == null ? "" : languageCode;
+    }
+
+    @Override
+    public List<String> detectLanguages(List<String> contents) {
+        List<String> keys = contents.stream().map(this::key).toList();
+        Map<String, String> cached = cache.getAllPresent(keys);
+
+        Set<String> missingKeys = new LinkedHashSet<>();
+        List<String> missingContents = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!cached.containsKey(keys.get(i)) && missingKeys.add(keys.get(i))) {
+                missingContents.add(contents.get(i));
+            }
+        }
+
+        Map<String, String> detected = new HashMap<>(cached);
+        if (!missingContents.isEmpty()) {
+            List<String> languageCodes = delegate.detectLanguages(missingContents);
+            int i = 0;
+            for (String key : missingKeys) {
+                String languageCode = languageCodes.get(i++);
+                detected.put(key, languageCode);
+                if (!languageCode.isEmpty()) {
+                    cache.put(key, languageCode);
+                }
+            }
+        }
+
+        return keys.stream().map(key -> detected.getOrDefault(key, "")).toList();
+    }
+
+    private String key(String content) {
+        String normalized = content == null ? "" : content.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String emptyToNull(String languageCode) {
+        return languageCode == null || languageCode.isEmpty() ? null : languageCode;
+    }
+}
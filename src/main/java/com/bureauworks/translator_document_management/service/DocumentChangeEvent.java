@@ -0,0 +1,25 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+
+import java.util.List;
+
+/**
+ * Documentos gravados ou removidos. Publicado por quem altera a tabela {@code document} para que índices fora do
+ * PostgreSQL acompanhem as alterações; dentro de uma transação, os ouvintes só o recebem após o commit.
+ */
+public record DocumentChangeEvent(List<Document> saved, Long deletedDocumentId, Long deletedImportId) {
+
+    public static DocumentChangeEvent saved(List<Document> documents) {
+        return new DocumentChangeEvent(documents, null, null);
+    }
+
+    public static DocumentChangeEvent deleted(Long documentId) {
+        return new DocumentChangeEvent(List.of(), documentId, null);
+    }
+
+    /** Todos os documentos de uma importação, removidos em cascata com ela. */
+    public static DocumentChangeEvent importDeleted(Long documentImportId) {
+        return new DocumentChangeEvent(List.of(), null, documentImportId);
+    }
+}
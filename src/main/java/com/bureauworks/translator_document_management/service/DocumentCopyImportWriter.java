@@ -0,0 +1,153 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import jakarta.persistence.SequenceGenerator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.QuoteMode;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persiste um bloco da importação com {@code COPY FROM STDIN}, enviando as linhas diretamente para as tabelas
+ * {@code document} e {@code import_error}.
+ *
+ * <p>Os ids são reservados nas mesmas sequences usadas pelo Hibernate, lidas do {@link SequenceGenerator} de cada
+ * entidade. Cada {@code nextval} reserva um bloco de {@code allocationSize} ids terminando no valor retornado,
+ * exatamente como o otimizador pooled.</p>
+ */
+@Component
+public class DocumentCopyImportWriter implements ImportChunkWriter {
+
+    private static final IdSequence DOCUMENT_SEQUENCE = IdSequence.of(Document.class);
+
+    private static final IdSequence IMPORT_ERROR_SEQUENCE = IdSequence.of(ImportError.class);
+
+    private static final String COPY_DOCUMENT = "COPY document " +
+            "(id, subject, content, location, author, translator_id, document_import_id, created_at, updated_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String COPY_IMPORT_ERROR = "COPY import_error (id, message, document_import_id) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // Valores nulos saem sem aspas (NULL para o COPY); strings vazias saem como "" e continuam vazias.
+    private static final CSVFormat COPY_FORMAT = CSVFormat.DEFAULT.builder()
+            .setQuoteMode(QuoteMode.ALL_NON_NULL)
+            .build();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Override
+    @Transactional
+    public void write(List<Document> documents, List<ImportError> importErrors) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!documents.isEmpty()) {
+                copyDocuments(connection, documents);
+            }
+            if (!importErrors.isEmpty()) {
+                copyImportErrors(connection, importErrors);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Erro ao executar COPY da importação", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void copyDocuments(Connection connection, List<Document> documents) throws SQLException, IOException {
+        long[] ids = allocateIds(connection, DOCUMENT_SEQUENCE, documents.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        try (CSVPrinter printer = openCopy(connection, COPY_DOCUMENT)) {
+            for (int i = 0; i < documents.size(); i++) {
+                Document document = documents.get(i);
+                document.setId(ids[i]);
+                document.setCreatedAt(createdAt);
+                document.setUpdatedAt(createdAt);
+                printer.printRecord(ids[i], document.getSubject(), document.getContent(), document.getLocation(),
+                        document.getAuthor(), document.getTranslator().getId(),
+                        document.getDocumentImport().getId(), createdAt, createdAt);
+            }
+        }
+    }
+
+    private void copyImportErrors(Connection connection, List<ImportError> importErrors)
+            throws SQLException, IOException {
+        long[] ids = allocateIds(connection, IMPORT_ERROR_SEQUENCE, importErrors.size());
+
+        try (CSVPrinter printer = openCopy(connection, COPY_IMPORT_ERROR)) {
+            for (int i = 0; i < importErrors.size(); i++) {
+                ImportError importError = importErrors.get(i);
+                printer.printRecord(ids[i], importError.getMessage(), importError.getDocumentImport().getId());
+            }
+        }
+    }
+
+    private CSVPrinter openCopy(Connection connection, String sql) throws SQLException, IOException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        return new CSVPrinter(new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, sql), StandardCharsets.UTF_8), COPY_FORMAT);
+    }
+
+    private long[] allocateIds(Connection connection, IdSequence sequence, int count) throws SQLException {
+        int allocationSize = sequence.allocationSize();
+        long[] ids = new long[count];
+        int filled = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval('" + sequence.name() + "') FROM generate_series(1, ?)")) {
+            while (filled < count) {
+                statement.setInt(1, (count - filled + allocationSize - 1) / allocationSize);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next() && filled < count) {
+                        long hi = resultSet.getLong(1);
+                        // O primeiro valor da sequence é tratado de forma especial pelo otimizador pooled.
+                        if (hi < allocationSize) {
+                            continue;
+                        }
+                        for (long id = hi - allocationSize + 1; id <= hi && filled < count; id++) {
+                            ids[filled++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Sequence e {@code allocationSize} declarados no {@link SequenceGenerator} do id da entidade.
+     */
+    private record IdSequence(String name, int allocationSize) {
+
+        static IdSequence of(Class<?> entityClass) {
+            try {
+                SequenceGenerator generator = entityClass.getDeclaredField("id")
+                        .getAnnotation(SequenceGenerator.class);
+                return new IdSequence(generator.sequenceName(), generator.allocationSize());
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("Entidade sem o campo id: " + entityClass.getName(), e);
+            }
+        }
+    }
+}
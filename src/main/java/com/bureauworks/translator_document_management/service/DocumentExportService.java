@@ -0,0 +1,87 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.dto.DocumentExportRow;
+import com.bureauworks.translator_document_management.dto.ExportFormat;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exporta documentos diretamente para um {@link OutputStream}, lendo-os por um cursor no servidor. A memória usada
+ * não depende da quantidade de documentos: o contexto de persistência é limpo a cada {@link #CLEAR_INTERVAL}
+ * linhas e a saída é gravada conforme o buffer enche.
+ */
+@Service
+public class DocumentExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExportService.class);
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader(DocumentExportRow.HEADERS)
+            .build();
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Grava os documentos que atendem aos filtros (nulos são ignorados) no formato pedido.
+     *
+     * @return quantidade de documentos exportados
+     */
+    @Transactional(readOnly = true)
+    public long export(Long translatorId, Long documentImportId, String location, ExportFormat format,
+                       OutputStream out) {
+        long start = System.currentTimeMillis();
+        long exported = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Document> documents = documentRepository.streamForExport(translatorId, documentImportId,
+                location)) {
+            CSVPrinter printer = format == ExportFormat.CSV ? new CSVPrinter(writer, CSV_FORMAT) : null;
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                DocumentExportRow row = DocumentExportRow.of(iterator.next());
+                if (printer != null) {
+                    printer.printRecord(row.values());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("{} documentos exportados em {} ({} ms)", exported, format,
+                System.currentTimeMillis() - start);
+        return exported;
+    }
+}
@@ -0,0 +1,254 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Divide o CSV de uma importação em blocos de {@code chunkSize} linhas, registrados em {@code import_chunk} com as
+ * próprias linhas. O planejamento apenas percorre o arquivo, copiando as linhas de cada bloco; a validação e a
+ * gravação ficam com os workers de blocos ({@link DocumentImportProcessor}) de qualquer nó, que podem começar antes
+ * de o planejamento terminar. Planejado o último bloco, o arquivo é removido do banco.
+ */
+@Service
+public class DocumentImportPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentImportPlanner.class);
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Autowired
+    private ImportChunkLedger importChunkLedger;
+
+    @Autowired
+    private ImportSpool importSpool;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    private volatile boolean stopping;
+
+    /**
+     * Planeja os blocos da importação informada, já reservada na fila por {@link ImportJobWorker}. Um planejamento
+     * interrompido recomeça a partir do último bloco registrado.
+     */
+    public void plan(Long documentImportId) {
+        DocumentImport documentImport = documentImportRepository.findById(documentImportId).orElse(null);
+        if (documentImport == null) {
+            logger.warn("Importação {} não encontrada", documentImportId);
+            return;
+        }
+        if (!importSpool.exists(documentImportId)) {
+            logger.warn("Arquivo da importação {} não encontrado no spool", documentImportId);
+            fail(documentImport, "Arquivo da importação não encontrado.");
+            return;
+        }
+
+        documentImportRepository.markStarted(documentImportId, ImportStatus.RUNNING, LocalDateTime.now());
+        try {
+            planSpooledFile(documentImport);
+        } catch (RuntimeException e) {
+            if (stopping) {
+                // Mantém o arquivo e a situação RUNNING; a reserva é devolvida à fila pelo worker
+                logger.warn("Planejamento da importação {} interrompido pelo desligamento da aplicação",
+                        documentImportId);
+                return;
+            }
+            logger.error("Erro inesperado na importação {}: ", documentImportId, e);
+            fail(documentImport, "Erro inesperado durante a importação.");
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        stopping = true;
+    }
+
+    private void planSpooledFile(DocumentImport documentImport) {
+        Long documentImportId = documentImport.getId();
+
+        try (BufferedReader reader = importSpool.open(documentImportId)) {
+            if (importSpool.size(documentImportId) == 0) {
+                fail(documentImport, "O arquivo CSV está vazio.");
+                return;
+            }
+
+            if (!validateHeaders(reader)) {
+                fail(documentImport, "O cabeçalho do arquivo CSV está vazio ou incorreto.");
+                return;
+            }
+
+            Checkpoint checkpoint = Checkpoint.of(
+                    importChunkRepository.findPositionsByDocumentImportIdOrderByChunkIndex(documentImportId));
+            if (checkpoint.offset() > 0) {
+                logger.info("Retomando o planejamento da importação {} a partir da linha {}", documentImportId,
+                        checkpoint.firstRowNum());
+                ImportSpool.skip(reader, checkpoint.offset());
+            }
+
+            try (CSVParser csvParser = new CSVParser(reader, ImportRow.FORMAT, checkpoint.offset(),
+                    checkpoint.record())) {
+
+                logger.info("Planejando os blocos do arquivo: {}", documentImport.getFileName());
+                if (planChunks(csvParser, documentImport, checkpoint) == 0) {
+                    fail(documentImport, "O arquivo CSV deve conter pelo menos uma linha de dados.");
+                    return;
+                }
+            }
+        } catch (IOException | IllegalArgumentException | UncheckedIOException e) {
+            logger.error("Erro ao ler o arquivo CSV: ", e);
+            fail(documentImport, "Erro ao ler o arquivo CSV.");
+            return;
+        }
+
+        documentImportRepository.markPlanned(documentImportId);
+        // Os workers leem as linhas dos blocos; o arquivo não é mais necessário
+        importSpool.delete(documentImportId);
+        // Os blocos podem ter sido todos gravados antes do fim do planejamento
+        importChunkLedger.completeIfDone(documentImport);
+    }
+
+    private boolean validateHeaders(BufferedReader reader) throws IOException {
+        logger.debug("Validando cabeçalhos do CSV");
+        String headerLine = reader.readLine();
+        if (headerLine == null || headerLine.trim().isEmpty()) {
+            logger.warn("O cabeçalho do CSV está vazio ou ausente");
+            return false;
+        }
+
+        String[] headers = headerLine.split(";");
+        List<String> filteredHeaders = new ArrayList<>();
+        for (String header : headers) {
+            if (header != null && !header.trim().isEmpty()) {
+                filteredHeaders.add(header.trim());
+            }
+        }
+
+        if (filteredHeaders.size() != ImportRow.HEADERS.length) {
+            logger.warn("O cabeçalho do CSV não corresponde ao número esperado de colunas");
+            return false;
+        }
+
+        if (!filteredHeaders.equals(Arrays.asList(ImportRow.HEADERS))) {
+            logger.warn("O cabeçalho do CSV não corresponde aos nomes das colunas esperadas ou está fora de ordem");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Percorre o CSV registrando um bloco a cada {@code chunkSize} linhas de dados (não vazias). A numeração das
+     * linhas e dos blocos é definida aqui, portanto não depende da ordem em que os blocos são gravados.
+     *
+     * @return quantidade total de linhas de dados do arquivo
+     */
+    private int planChunks(CSVParser csvParser, DocumentImport documentImport, Checkpoint checkpoint)
+            throws IOException {
+        int chunkSize = documentImport.getChunkSize() > 0 ? documentImport.getChunkSize() : this.chunkSize;
+        int rowNum = checkpoint.firstRowNum() - 1;
+        int chunkIndex = checkpoint.chunkIndex();
+        int chunkRows = 0;
+        long chunkOffset = 0;
+        long chunkRecord = 0;
+        StringBuilder payload = new StringBuilder();
+        CSVPrinter printer = new CSVPrinter(payload, ImportRow.PAYLOAD_FORMAT);
+
+        for (CSVRecord record : csvParser) {
+            if (stopping) {
+                throw new CancellationException("Aplicação em desligamento");
+            }
+            if (ImportRow.isBlank(record)) {
+                continue;
+            }
+            rowNum++;
+            if (chunkRows == 0) {
+                chunkOffset = record.getCharacterPosition();
+                chunkRecord = record.getRecordNumber();
+            }
+            printer.printRecord(record);
+            chunkRows++;
+
+            if (chunkRows >= chunkSize) {
+                importChunkRepository.insertIfAbsent(documentImport.getId(), chunkIndex++, chunkOffset, chunkRecord,
+                        rowNum - chunkRows + 1, chunkRows, payload.toString());
+                documentImportRepository.updateRowsRead(documentImport.getId(), rowNum - 1);
+                chunkRows = 0;
+                payload.setLength(0);
+            }
+        }
+        if (chunkRows > 0) {
+            importChunkRepository.insertIfAbsent(documentImport.getId(), chunkIndex, chunkOffset, chunkRecord,
+                    rowNum - chunkRows + 1, chunkRows, payload.toString());
+            documentImportRepository.updateRowsRead(documentImport.getId(), rowNum - 1);
+        }
+
+        return rowNum - 1;
+    }
+
+    /**
+     * Encerra a importação com falha, registrando o motivo como erro da importação.
+     */
+    public void fail(DocumentImport documentImport, String errorMessage) {
+        importErrorRepository.save(new ImportError(errorMessage, documentImport));
+        documentImportRepository.incrementProgress(documentImport.getId(), 0, 1);
+        documentImportRepository.markFinished(documentImport.getId(), ImportStatus.FAILED,
+                "Erro durante a importação", LocalDateTime.now());
+        importSpool.delete(documentImport.getId());
+        logger.info("Importação {} finalizada: {}", documentImport.getId(), ImportStatus.FAILED);
+    }
+
+    /**
+     * Ponto de onde o planejamento recomeça: o início do último bloco registrado. Esse bloco é percorrido de novo
+     * (e não é registrado outra vez) para que a numeração dos blocos seguintes continue a mesma.
+     */
+    private record Checkpoint(int chunkIndex, long offset, long record, int firstRowNum) {
+
+        static final Checkpoint START = new Checkpoint(0, 0, 1, 2);
+
+        static Checkpoint of(List<ImportChunkRepository.Position> plannedChunks) {
+            ImportChunkRepository.Position last = null;
+            for (ImportChunkRepository.Position chunk : plannedChunks) {
+                int expectedIndex = last == null ? 0 : last.getChunkIndex() + 1;
+                if (chunk.getChunkIndex() != expectedIndex) {
+                    break;
+                }
+                last = chunk;
+            }
+            if (last == null) {
+                return START;
+            }
+            return new Checkpoint(last.getChunkIndex(), last.getStartOffset(), last.getStartRecord(),
+                    last.getFirstRowNum());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.*;
+
+/**
+ * Grava um bloco de uma importação: lê as linhas copiadas para o bloco no planejamento, valida, detecta o idioma e
+ * resolve os tradutores. Blocos de uma mesma importação podem ser gravados em paralelo por nós diferentes.
+ */
+@Service
+public class DocumentImportProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentImportProcessor.class);
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private DocumentImportWriter documentImportWriter;
+
+    @Autowired
+    private DocumentCopyImportWriter documentCopyImportWriter;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private ImportChunkLedger importChunkLedger;
+
+    @Autowired
+    private ImportJobQueue importJobQueue;
+
+    @Autowired
+    private DocumentImportPlanner documentImportPlanner;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LanguageDetector languageDetector;
+
+    @Value("${import.chunk-max-attempts:3}")
+    private int maxAttempts;
+
+    private volatile boolean stopping;
+
+    /**
+     * Processa o bloco informado, já reservado na fila por {@link ImportJobWorker}, e finaliza a importação se ele
+     * for o último a ser gravado. Em caso de erro o bloco volta à fila; depois de {@code maxAttempts} tentativas a
+     * importação é encerrada com falha.
+     */
+    public void process(Long importChunkId) {
+        ImportChunk importChunk = importChunkRepository.findWithDocumentImportById(importChunkId).orElse(null);
+        if (importChunk == null) {
+            logger.warn("Bloco de importação {} não encontrado", importChunkId);
+            return;
+        }
+        DocumentImport documentImport = importChunk.getDocumentImport();
+
+        try {
+            List<ImportRow> rows = readRows(importChunk);
+            ImportChunkWriter writer = documentImport.getMode() == ImportMode.BULK
+                    ? documentCopyImportWriter : documentImportWriter;
+            processChunk(importChunk, rows, writer);
+        } catch (IOException | RuntimeException e) {
+            if (stopping) {
+                logger.warn("Bloco {} da importação {} interrompido pelo desligamento da aplicação",
+                        importChunk.getChunkIndex(), documentImport.getId());
+                importJobQueue.releaseChunk(importChunkId, false);
+                return;
+            }
+            logger.error("Erro ao gravar o bloco {} da importação {}: ", importChunk.getChunkIndex(),
+                    documentImport.getId(), e);
+            importJobQueue.releaseChunk(importChunkId, true);
+            if (importChunk.getAttempts() + 1 >= maxAttempts) {
+                documentImportPlanner.fail(documentImport, "Linhas " + importChunk.getFirstRowNum() + " a "
+                        + importChunk.getLastRowNum() + ": Erro inesperado ao gravar as linhas.");
+            }
+            return;
+        }
+
+        importChunkLedger.completeIfDone(documentImport);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        stopping = true;
+    }
+
+    /**
+     * Lê as linhas de dados do bloco, copiadas do arquivo no planejamento (sem as linhas vazias).
+     */
+    private List<ImportRow> readRows(ImportChunk importChunk) throws IOException {
+        if (importChunk.getPayload() == null) {
+            throw new IllegalStateException("Bloco " + importChunk.getChunkIndex() + " sem as linhas do arquivo");
+        }
+        try (CSVParser csvParser = new CSVParser(new StringReader(importChunk.getPayload()), ImportRow.FORMAT)) {
+            List<ImportRow> rows = new ArrayList<>(importChunk.getRowCount());
+            int rowNum = importChunk.getFirstRowNum();
+            for (CSVRecord record : csvParser) {
+                rows.add(ImportRow.of(record, rowNum++));
+            }
+
+            if (rows.size() != importChunk.getRowCount()) {
+                throw new IllegalStateException("O bloco " + importChunk.getChunkIndex() + " tem " + rows.size() +
+                        " linhas, e não " + importChunk.getRowCount());
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Valida, detecta o idioma, resolve os tradutores e persiste um bloco de linhas.
+     */
+    private void processChunk(ImportChunk importChunk, List<ImportRow> rows, ImportChunkWriter writer) {
+        DocumentImport documentImport = importChunk.getDocumentImport();
+        Map<String, Optional<Translator>> translatorsByEmail = resolveTranslators(rows);
+
+        String[] rowErrors = new String[rows.size()];
+        Translator[] translators = new Translator[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            if (row.subject().isEmpty() || row.content().isEmpty() || row.author().isEmpty()
+                    || row.translatorEmail().isEmpty()) {
+                rowErrors[i] = "Linha " + row.rowNum() + ": Campos obrigatórios estão faltando.";
+                continue;
+            }
+            translators[i] = translatorsByEmail.get(row.translatorEmail()).orElse(null);
+            if (translators[i] == null) {
+                rowErrors[i] = "Linha " + row.rowNum() + ": Tradutor não encontrado para o email: "
+                        + row.translatorEmail();
+            }
+        }
+
+        String[] locations = detectMissingLocations(rows, rowErrors);
+
+        List<Document> documents = new ArrayList<>(rows.size());
+        List<ImportError> importErrors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            if (rowErrors[i] != null) {
+                importErrors.add(new ImportError(rowErrors[i], documentImport));
+                continue;
+            }
+            Document document = new Document(
+                    row.subject(), row.content(), locations[i], row.author(), translators[i], documentImport);
+            validateAndAddDocument(document, documentImport, documents, importErrors, row.rowNum());
+        }
+
+        importChunkLedger.commit(importChunk, writer, documents, importErrors);
+    }
+
+    /**
+     * Detecta em lote o idioma das linhas válidas do bloco que não informaram {@code location}.
+     */
+    private String[] detectMissingLocations(List<ImportRow> rows, String[] rowErrors) {
+        String[] locations = new String[rows.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<String> snippets = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            locations[i] = row.location();
+            if (rowErrors[i] == null && row.location().isEmpty()) {
+                pending.add(i);
+                snippets.add(row.content().substring(0, Math.min(row.content().length(), 40)));
+            }
+        }
+        if (pending.isEmpty()) {
+            return locations;
+        }
+
+        List<String> detected = languageDetector.detectLanguages(snippets);
+        for (int j = 0; j < pending.size(); j++) {
+            locations[pending.get(j)] = detected.get(j);
+        }
+        logger.debug("Idioma detectado para {} linhas do bloco", pending.size());
+        return locations;
+    }
+
+    /**
+     * Busca de uma só vez os tradutores dos emails do bloco. Emails sem tradutor ficam registrados como vazios.
+     */
+    private Map<String, Optional<Translator>> resolveTranslators(List<ImportRow> rows) {
+        Map<String, Optional<Translator>> translatorsByEmail = new HashMap<>();
+        Set<String> emails = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (!row.translatorEmail().isEmpty()) {
+                emails.add(row.translatorEmail());
+            }
+        }
+        if (emails.isEmpty()) {
+            return translatorsByEmail;
+        }
+
+        for (Translator translator : translatorRepository.findAllByEmailIn(emails)) {
+            translatorsByEmail.putIfAbsent(translator.getEmail(), Optional.of(translator));
+        }
+        for (String email : emails) {
+            translatorsByEmail.putIfAbsent(email, Optional.empty());
+        }
+        return translatorsByEmail;
+    }
+
+    private void validateAndAddDocument(Document document, DocumentImport documentImport,
+                                        List<Document> documents, List<ImportError> importErrors, int rowNum) {
+        Set<ConstraintViolation<Document>> violations = validator.validate(document);
+        if (!violations.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (ConstraintViolation<Document> violation : violations) {
+                sb.append(violation.getMessage()).append("\n");
+            }
+            String error = "Linha " + rowNum + ": " + sb;
+            importErrors.add(new ImportError(error, documentImport));
+            return;
+        }
+        documents.add(document);
+    }
+}
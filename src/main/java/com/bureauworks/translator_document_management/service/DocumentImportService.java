@@ -1,32 +1,35 @@
 package com.bureauworks.translator_document_management.service;
 
-import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
+import com.bureauworks.translator_document_management.dto.ImportProgress;
+import com.bureauworks.translator_document_management.dto.PageCursor;
 import com.bureauworks.translator_document_management.entity.DocumentImport;
 import com.bureauworks.translator_document_management.entity.ImportError;
-import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.exception.ImportInProgressException;
+import com.bureauworks.translator_document_management.exception.ImportQueueFullException;
 import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
-import com.bureauworks.translator_document_management.repository.TranslatorRepository;
-import jakarta.validation.ConstraintViolation;
-import jakarta.validation.Validator;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.io.*;
 
 @Service
 public class DocumentImportService {
@@ -36,166 +39,151 @@ public class DocumentImportService {
     @Autowired
     private DocumentImportRepository documentImportRepository;
 
+    @Autowired
+    private DocumentRepository documentRepository;
 
     @Autowired
-    private TranslatorRepository translatorRepository;
+    private ImportErrorRepository importErrorRepository;
 
+    @Autowired
+    private ImportSpool importSpool;
 
     @Autowired
-    private Validator validator;
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private OpenAIService openAIService;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${import.queue.max-queued:100}")
+    private int maxQueued;
+
+    @Value("${import.queue.small-file-threshold:1MB}")
+    private DataSize smallFileThreshold;
 
     public Page<DocumentImport> findAll(Pageable pageable) {
         return documentImportRepository.findAllByOrderByCreateAtDesc(pageable);
     }
 
-    public Page<DocumentImport> searchImports(String text, Pageable pageable) {
-        return documentImportRepository.searchByText(text, pageable);
+    public Slice<DocumentImport> findAllWithoutCount(Pageable pageable) {
+        return documentImportRepository.findSliceOrderByCreateAtDesc(pageable);
     }
 
-    public DocumentImport findById(Long id) {
-        return documentImportRepository.findById(id).orElse(null);
+    /**
+     * Página seguinte ao cursor informado (ou a primeira, sem cursor). Busca uma linha a mais apenas para saber
+     * se há próxima página.
+     */
+    public CursorPage<DocumentImport> findAllByCursor(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<DocumentImport> rows = after == null
+                ? documentImportRepository.findKeysetPage(limit)
+                : documentImportRepository.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(rows, size, row -> new PageCursor(row.getCreatedAt(), row.getId()));
     }
 
-    public void delete(Long id) {
-        documentImportRepository.deleteById(id);
+    public Page<DocumentImport> searchImports(String text, Pageable pageable) {
+        return documentImportRepository.searchByText(text, pageable);
     }
 
-    @Async
-    public CompletableFuture<DocumentImport> saveDocumentsFromCSV(MultipartFile file) {
-        String fileName = file.getOriginalFilename();
-        DocumentImport documentImport = new DocumentImport(fileName, "Importação em andamento");
-
-        if (file.isEmpty()) {
-            return handleImportError(documentImport, "O arquivo CSV está vazio.");
-        }
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
-
-            List<String> filteredHeaders = validateHeaders(reader);
-            if (filteredHeaders == null) {
-                return handleImportError(documentImport, "O cabeçalho do arquivo CSV está vazio ou incorreto.");
-            }
-
-            CSVParser csvParser = new CSVParser(
-                    reader, CSVFormat.DEFAULT.withDelimiter(';').withHeader(filteredHeaders.toArray(new String[0])));
-
-            List<CSVRecord> validRecords = filterValidRecords(csvParser.getRecords());
-
-            if (validRecords.isEmpty()) {
-                return handleImportError(documentImport, "O arquivo CSV deve conter pelo menos uma linha de dados.");
-            }
-
-            logger.info("Processando registros CSV para o arquivo: {}", fileName);
-            processCSVRecords(validRecords, documentImport);
-        } catch (IOException | IllegalArgumentException e) {
-            logger.error("Erro ao ler o arquivo CSV: ", e);
-            return handleImportError(documentImport, "Erro ao ler o arquivo CSV.");
-        }
-
-        documentImport.setMessage(documentImport.getImportErrors()
-                .isEmpty() ? "Importação concluída com sucesso" : "Importação concluída com alguns erros");
-
-        documentImportRepository.save(documentImport);
-
-        return CompletableFuture.completedFuture(documentImport);
+    public Page<DocumentImport> searchImportsBySimilarity(String text, Pageable pageable) {
+        return documentImportRepository.searchBySimilarity(text, pageable);
     }
 
-    private List<String> validateHeaders(BufferedReader reader) throws IOException {
-        logger.debug("Validando cabeçalhos do CSV");
-        String headerLine = reader.readLine();
-        if (headerLine == null || headerLine.trim().isEmpty()) {
-            logger.warn("O cabeçalho do CSV está vazio ou ausente");
+    /**
+     * Só uma importação finalizada é servida pelo cache de segundo nível. A de uma importação em andamento é lida
+     * de novo no banco, pois os blocos gravados por outro nó não invalidam o cache deste. Pelo mesmo motivo, a
+     * existência de uma importação finalizada é confirmada com uma consulta leve: removida em outro nó, ela sai do
+     * cache deste e não é mais retornada, nem seus documentos e erros do cache de consultas.
+     */
+    public DocumentImport findById(Long id) {
+        DocumentImport documentImport = documentImportRepository.findById(id).orElse(null);
+        if (documentImport == null) {
             return null;
         }
-
-        String[] headers = headerLine.split(";");
-        List<String> filteredHeaders = new ArrayList<>();
-        for (String header : headers) {
-            if (header != null && !header.trim().isEmpty()) {
-                filteredHeaders.add(header.trim());
-            }
+        if (!documentImport.getStatus().isFinished()) {
+            return documentImportRepository.findCurrentById(id).orElse(null);
         }
-
-        String[] expectedHeaders = {"subject", "content", "location", "author", "translator_email"};
-        if (filteredHeaders.size() != expectedHeaders.length) {
-            logger.warn("O cabeçalho do CSV não corresponde ao número esperado de colunas");
+        if (!documentImportRepository.existsCurrentById(id)) {
+            entityManagerFactory.getCache().evict(DocumentImport.class, id);
             return null;
         }
+        return documentImport;
+    }
 
-        for (int i = 0; i < expectedHeaders.length; i++) {
-            if (!filteredHeaders.get(i).equals(expectedHeaders[i])) {
-                logger.warn("O cabeçalho do CSV não corresponde aos nomes das colunas esperadas ou está fora de ordem");
-                return null;
-            }
-        }
-
-        return filteredHeaders;
+    /** Documentos gravados pela importação; os de uma importação finalizada vêm do cache de consultas. */
+    public Page<DocumentSummary> findDocuments(DocumentImport documentImport, Pageable pageable) {
+        return documentImport.getStatus().isFinished()
+                ? documentRepository.findCachedSummariesByDocumentImportId(documentImport.getId(), pageable)
+                : documentRepository.findSummariesByDocumentImportId(documentImport.getId(), pageable);
     }
 
-    private List<CSVRecord> filterValidRecords(List<CSVRecord> records) {
-        logger.debug("Filtrando registros CSV válidos");
-        return records.stream()
-                .filter(record -> record.stream().anyMatch(field -> field != null && !field.trim().isEmpty()))
-                .toList();
+    /** Erros registrados pela importação; os de uma importação finalizada vêm do cache de consultas. */
+    public Page<ImportError> findErrors(DocumentImport documentImport, Pageable pageable) {
+        return documentImport.getStatus().isFinished()
+                ? importErrorRepository.findCachedByDocumentImportId(documentImport.getId(), pageable)
+                : importErrorRepository.findAllByDocumentImportIdOrderById(documentImport.getId(), pageable);
     }
 
-    private void processCSVRecords(List<CSVRecord> records, DocumentImport documentImport) {
-        int rowNum = 1;
-
-        for (CSVRecord record : records) {
-            rowNum++;
-            String subject = record.get("subject");
-            String content = record.get("content");
-            String location = record.get("location");
-            String author = record.get("author");
-            String translatorEmail = record.get("translator_email");
-
-            logger.info("Validando os campos obrigatórios");
-            if (subject.isEmpty() || content.isEmpty() || author.isEmpty() || translatorEmail.isEmpty()) {
-                String error = "Linha " + rowNum + ": Campos obrigatórios estão faltando.";
-                documentImport.addImportError(new ImportError(error, documentImport));
-                continue;
-            }
-
-            if (location.isEmpty()) {
-                location = openAIService.detectLanguage(content.substring(0, Math.min(content.length(), 40)));
-                logger.debug("Idioma detectado para o conteúdo na linha {}: {}", rowNum, location);
-            }
-
-            Translator translator = translatorRepository.findByEmail(translatorEmail);
-            if (translator == null) {
-                String error = "Linha " + rowNum + ": Tradutor não encontrado para o email: " + translatorEmail;
-                documentImport.addImportError(new ImportError(error, documentImport));
-                continue;
-            }
-
-            Document document = new Document(subject, content, location, author, translator, documentImport);
-            validateAndAddDocument(document, documentImport, rowNum);
+    /**
+     * Remove a importação com três DELETEs em lote. O deleteById carregaria as coleções da importação e apagaria
+     * cada documento e erro com um comando próprio. Uma importação na fila ou em andamento não é removida, pois os
+     * workers de blocos ainda gravariam documentos dela.
+     *
+     * @throws ImportInProgressException se a importação ainda não foi finalizada
+     */
+    @Transactional
+    public void delete(Long id) {
+        ImportStatus status = documentImportRepository.lockStatusById(id).orElse(null);
+        if (status == null) {
+            return;
         }
+        if (!status.isFinished()) {
+            throw new ImportInProgressException("A importação ainda está em andamento e não pode ser removida.");
+        }
+        documentRepository.deleteAllByDocumentImportId(id);
+        importErrorRepository.deleteAllByDocumentImportId(id);
+        documentImportRepository.deleteImportById(id);
+        importSpool.delete(id);
+        eventPublisher.publishEvent(DocumentChangeEvent.importDeleted(id));
     }
 
-    private void validateAndAddDocument(Document document, DocumentImport documentImport, int rowNum) {
-        Set<ConstraintViolation<Document>> violations = validator.validate(document);
-        if (!violations.isEmpty()) {
-            StringBuilder sb = new StringBuilder();
-            for (ConstraintViolation<Document> violation : violations) {
-                sb.append(violation.getMessage()).append("\n");
-            }
-            String error = "Linha " + rowNum + ": " + sb;
-            documentImport.addImportError(new ImportError(error, documentImport));
-            return;
+    /**
+     * Registra a importação na fila e grava o arquivo no spool, retornando sem aguardar a leitura das linhas.
+     * A importação é planejada pelo primeiro nó com um worker livre e seus blocos são gravados por qualquer nó.
+     * O registro e o arquivo são confirmados na mesma transação, então a fila nunca reserva uma importação cujo
+     * arquivo ainda não foi gravado.
+     *
+     * @throws ImportQueueFullException se a fila já tiver {@code import.queue.max-queued} importações aguardando
+     */
+    @Transactional
+    public DocumentImport submitImport(MultipartFile file, ImportMode mode, String tenant) {
+        if (documentImportRepository.countByStatus(ImportStatus.QUEUED) >= maxQueued) {
+            throw new ImportQueueFullException("A fila de importações está cheia. Tente novamente mais tarde.");
+        }
+
+        DocumentImport documentImport = new DocumentImport(file.getOriginalFilename(), "Importação na fila", mode);
+        documentImport.setTenant(tenant);
+        documentImport.setFileSize(file.getSize());
+        documentImport.setPriority(file.getSize() <= smallFileThreshold.toBytes() ? 0 : 1);
+        documentImport.setChunkSize(chunkSize);
+        // As partes do arquivo são inseridas por SQL nativo e referenciam o registro
+        documentImportRepository.saveAndFlush(documentImport);
+        try {
+            importSpool.store(documentImport.getId(), file);
+        } catch (UncheckedIOException e) {
+            // Desfaz também o registro da importação
+            logger.error("Erro ao gravar o arquivo CSV no spool: ", e);
+            throw e;
         }
-        documentImport.addDocument(document);
+        return documentImport;
     }
 
-    private CompletableFuture<DocumentImport> handleImportError(DocumentImport documentImport, String errorMessage) {
-        documentImport.addImportError(new ImportError(errorMessage, documentImport));
-        documentImport.setMessage("Erro durante a importação");
-        documentImportRepository.save(documentImport);
-        return CompletableFuture.completedFuture(documentImport);
+    public ImportProgress getProgress(Long id) {
+        return documentImportRepository.findCurrentById(id)
+                .map(documentImport -> ImportProgress.of(documentImport, LocalDateTime.now()))
+                .orElse(null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persiste um bloco da importação em uma única transação, descarregando e limpando o contexto de
+ * persistência a cada {@code batchSize} entidades para que os INSERTs sejam agrupados em lotes JDBC.
+ */
+@Component
+public class DocumentImportWriter implements ImportChunkWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void write(List<Document> documents, List<ImportError> importErrors) {
+        int pending = 0;
+        for (Document document : documents) {
+            entityManager.persist(document);
+            pending = flushIfNeeded(pending + 1);
+        }
+        for (ImportError importError : importErrors) {
+            entityManager.persist(importError);
+            pending = flushIfNeeded(pending + 1);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int flushIfNeeded(int pending) {
+        if (pending < batchSize) {
+            return pending;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return 0;
+    }
+}
@@ -0,0 +1,342 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Índice invertido (Lucene) dos documentos em disco local, para pesquisas sem acesso ao PostgreSQL.
+ * <p>
+ * Alimentado pelos {@link DocumentChangeEvent}s deste nó após o commit de cada gravação ou remoção; as alterações
+ * ficam visíveis às pesquisas a cada {@code search.index.refresh-interval-ms} (near-real-time). Cada nó mantém o
+ * próprio índice e só enxerga as gravações feitas por ele: com mais de um nó, use a busca no banco
+ * ({@code mode=FULLTEXT}) ou reconstrua os índices periodicamente.
+ */
+@Service
+@ConditionalOnProperty(name = "search.index.enabled", havingValue = "true")
+public class DocumentSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentSearchIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final String ID = "id";
+    private static final String IMPORT_ID = "importId";
+    private static final String SUBJECT = "subject";
+    private static final String AUTHOR = "author";
+    private static final String CONTENT = "content";
+    private static final String LOCATION = "location";
+    private static final String CREATED_AT = "createdAt";
+    private static final String TRANSLATOR_ID = "translatorId";
+    private static final String GENERATION = "generation";
+
+    // O assunto pesa mais que o autor, que pesa mais que o conteúdo, como na busca FULLTEXT
+    private static final Map<String, Float> BOOSTS = Map.of(SUBJECT, 3f, AUTHOR, 2f, CONTENT, 1f, LOCATION, 1f);
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Value("${search.index.dir:${java.io.tmpdir}/document-index}")
+    private Path indexDir;
+
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    // Marca os documentos gravados a partir da última reconstrução; os de gerações anteriores são removidos ao final
+    private volatile String generation = "0";
+
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+        logger.info("Índice de busca aberto em {} com {} documentos", indexDir, writer.getDocStats().numDocs);
+    }
+
+    /** Um índice vazio (primeira execução ou diretório perdido) é reconstruído a partir do banco. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (writer.getDocStats().numDocs == 0 && documentRepository.count() > 0) {
+            rebuildAsync();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentChange(DocumentChangeEvent event) {
+        try {
+            for (Document document : event.saved()) {
+                writer.updateDocument(new Term(ID, document.getId().toString()), toIndexDocument(document));
+            }
+            if (event.deletedDocumentId() != null) {
+                writer.deleteDocuments(new Term(ID, event.deletedDocumentId().toString()));
+            }
+            if (event.deletedImportId() != null) {
+                writer.deleteDocuments(new Term(IMPORT_ID, event.deletedImportId().toString()));
+            }
+        } catch (IOException e) {
+            // O banco já confirmou a alteração; o índice é corrigido pela próxima reconstrução
+            logger.error("Erro ao atualizar o índice de busca", e);
+        }
+    }
+
+    /**
+     * Pesquisa com a sintaxe do QueryParser do Lucene (aspas para frases, {@code OR}, {@code -termo}, {@code campo:});
+     * um texto que não seja uma consulta válida é pesquisado literalmente.
+     */
+    public Page<DocumentSearchHit> search(String text, Pageable pageable) {
+        Query query = parse(text);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, (int) Math.min(Integer.MAX_VALUE,
+                        pageable.getOffset() + pageable.getPageSize()));
+                StoredFields storedFields = searcher.storedFields();
+                List<DocumentSearchHit> hits = new ArrayList<>();
+                for (int i = (int) pageable.getOffset(); i < topDocs.scoreDocs.length; i++) {
+                    ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                    hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+                }
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value
+                        : searcher.count(query);
+                return new PageImpl<>(hits, pageable, total);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco em segundo plano. Um pedido feito durante uma reconstrução em curso é
+     * atendido por uma nova passada logo após ela, que enxerga as linhas gravadas depois do início da anterior.
+     */
+    public void rebuildAsync() {
+        rebuildRequested.set(true);
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.info("Reconstrução do índice de busca já em andamento; outra será feita em seguida");
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    while (rebuildRequested.getAndSet(false)) {
+                        rebuild();
+                    }
+                } catch (RuntimeException | IOException e) {
+                    logger.error("Erro ao reconstruir o índice de busca", e);
+                } finally {
+                    rebuilding.set(false);
+                }
+                if (rebuildRequested.get()) {
+                    rebuildAsync();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Executor sem capacidade: libera um novo pedido de reconstrução
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Regrava todos os documentos do banco sem esvaziar o índice antes, para que as pesquisas continuem respondendo
+     * durante a reconstrução. Ao final, remove o que não foi regravado (documentos que não existem mais).
+     */
+    private void rebuild() throws IOException {
+        long start = System.currentTimeMillis();
+        String current = Long.toString(start);
+        generation = current;
+        long indexed = 0;
+        Pageable batch = PageRequest.ofSize(REBUILD_BATCH_SIZE);
+        List<Document> documents = documentRepository.findKeysetPage(batch);
+        while (!documents.isEmpty()) {
+            for (Document document : documents) {
+                writer.updateDocument(new Term(ID, document.getId().toString()), toIndexDocument(document));
+            }
+            indexed += documents.size();
+            Document last = documents.get(documents.size() - 1);
+            documents = documentRepository.findKeysetPageAfter(last.getCreatedAt(), last.getId(), batch);
+        }
+        writer.deleteDocuments(new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), BooleanClause.Occur.FILTER)
+                .add(new TermQuery(new Term(GENERATION, current)), BooleanClause.Occur.MUST_NOT)
+                .build());
+        writer.commit();
+        searcherManager.maybeRefresh();
+        logger.info("Índice de busca reconstruído com {} documentos em {} ms", indexed,
+                System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    // O commit torna as alterações duráveis; entre commits, um nó que cair perde só a parte não confirmada do índice
+    @Scheduled(fixedDelayString = "${search.index.commit-interval-ms:60000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query parse(String text) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(BOOSTS.keySet().toArray(String[]::new), analyzer,
+                BOOSTS);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(text);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(text));
+            } catch (ParseException escaped) {
+                throw new IllegalArgumentException("Texto de pesquisa inválido.");
+            }
+        }
+    }
+
+    private org.apache.lucene.document.Document toIndexDocument(Document document) {
+        org.apache.lucene.document.Document indexDocument = new org.apache.lucene.document.Document();
+        indexDocument.add(new StringField(ID, document.getId().toString(), Field.Store.YES));
+        indexDocument.add(new StringField(GENERATION, generation, Field.Store.NO));
+        if (document.getDocumentImport() != null) {
+            indexDocument.add(new StringField(IMPORT_ID, document.getDocumentImport().getId().toString(),
+                    Field.Store.NO));
+        }
+        indexDocument.add(new TextField(SUBJECT, document.getSubject(), Field.Store.YES));
+        indexDocument.add(new TextField(AUTHOR, document.getAuthor(), Field.Store.YES));
+        indexDocument.add(new TextField(CONTENT, document.getContent(), Field.Store.NO));
+        if (document.getLocation() != null) {
+            indexDocument.add(new TextField(LOCATION, document.getLocation(), Field.Store.YES));
+        }
+        if (document.getCreatedAt() != null) {
+            indexDocument.add(new StoredField(CREATED_AT, document.getCreatedAt().toString()));
+        }
+        indexDocument.add(new StoredField(TRANSLATOR_ID, document.getTranslator().getId()));
+        return indexDocument;
+    }
+
+    private static DocumentSearchHit toHit(org.apache.lucene.document.Document stored, float score) {
+        String createdAt = stored.get(CREATED_AT);
+        return new IndexedHit(Long.valueOf(stored.get(ID)), stored.get(SUBJECT), stored.get(AUTHOR),
+                stored.get(LOCATION), createdAt == null ? null : LocalDateTime.parse(createdAt),
+                stored.getField(TRANSLATOR_ID).numericValue().longValue(), score);
+    }
+
+    private record IndexedHit(Long id, String subject, String author, String location, LocalDateTime createdAt,
+                              Long translatorId, double rank) implements DocumentSearchHit {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getSubject() {
+            return subject;
+        }
+
+        @Override
+        public String getAuthor() {
+            return author;
+        }
+
+        @Override
+        public String getLocation() {
+            return location;
+        }
+
+        @Override
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        @Override
+        public Long getTranslatorId() {
+            return translatorId;
+        }
+
+        @Override
+        public double getRank() {
+            return rank;
+        }
+
+        // O conteúdo não é armazenado no índice, apenas indexado
+        @Override
+        public String getHighlight() {
+            return null;
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.bureauworks.translator_document_management.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
 import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
+import com.bureauworks.translator_document_management.dto.PageCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import org.hibernate.Hibernate;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 
@@ -23,24 +33,83 @@ public class DocumentService {
     private Validator validator;
 
     @Autowired
-    private OpenAIService openAIService;
+    private LanguageDetector languageDetector;
 
-    public Page<Document> findAll(Pageable pageable) {
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired(required = false)
+    private DocumentSearchIndex documentSearchIndex;
+
+    public Page<DocumentSummary> findAll(Pageable pageable) {
         return documentRepository.findAllByOrderByCreateAtDesc(pageable);
     }
 
-    public List<Document> findAllByTranslatorId(Long id) {
-        return documentRepository.findAllByTranslatorId(id);
+    public Slice<DocumentSummary> findAllWithoutCount(Pageable pageable) {
+        return documentRepository.findSliceOrderByCreateAtDesc(pageable);
+    }
+
+    /**
+     * Página seguinte ao cursor informado (ou a primeira, sem cursor). Busca uma linha a mais apenas para saber
+     * se há próxima página.
+     */
+    public CursorPage<DocumentSummary> findAllByCursor(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<DocumentSummary> rows = after == null
+                ? documentRepository.findSummaryKeysetPage(limit)
+                : documentRepository.findSummaryKeysetPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(rows, size, row -> new PageCursor(row.createdAt(), row.id()));
+    }
+
+    public boolean existsByTranslatorId(Long translatorId) {
+        return documentRepository.existsByTranslatorId(translatorId);
     }
 
-    public Page<Document> searchDocuments(String text, Pageable pageable) {
+    public Page<DocumentSummary> searchDocuments(String text, Pageable pageable) {
         return documentRepository.searchByText(text, pageable);
     }
 
+    /**
+     * Pesquisa no índice local ({@code search.index.enabled}), sem consultar o PostgreSQL.
+     *
+     * @throws IllegalStateException se o índice estiver desabilitado
+     */
+    public Page<DocumentSearchHit> searchDocumentsIndexed(String text, Pageable pageable) {
+        return requireSearchIndex().search(text, pageable);
+    }
+
+    public void rebuildSearchIndex() {
+        requireSearchIndex().rebuildAsync();
+    }
+
+    private DocumentSearchIndex requireSearchIndex() {
+        if (documentSearchIndex == null) {
+            throw new IllegalStateException("O índice de busca está desabilitado (search.index.enabled).");
+        }
+        return documentSearchIndex;
+    }
+
+    public Slice<DocumentSearchHit> searchDocumentsFullText(String text, String location, boolean count,
+                                                           Pageable pageable) {
+        String language = location == null ? "" : location;
+        return count
+                ? documentRepository.searchFullText(text, language, pageable)
+                : documentRepository.searchFullTextWithoutCount(text, language, pageable);
+    }
+
+    /**
+     * Grava o documento. Numa atualização o merge devolve o tradutor como proxy LAZY, trocado aqui pela entidade
+     * carregada para que a resposta possa ser serializada fora da sessão.
+     */
+    @Transactional
     public Document save(Document document) {
         validateDocument(document);
         detectAndSetLanguage(document);
-        return documentRepository.save(document);
+        Document saved = documentRepository.save(document);
+        saved.setTranslator((Translator) Hibernate.unproxy(saved.getTranslator()));
+        eventPublisher.publishEvent(DocumentChangeEvent.saved(List.of(saved)));
+        return saved;
     }
 
     public void validateDocument(Document document) {
@@ -57,16 +126,17 @@ public class DocumentService {
     public void detectAndSetLanguage(Document document) {
         if (document.getLocation() == null || document.getLocation().isEmpty()) {
             String content = document.getContent();
-            String location = openAIService.detectLanguage(content.substring(0, Math.min(content.length(), 40)));
+            String location = languageDetector.detectLanguage(content.substring(0, Math.min(content.length(), 40)));
             document.setLocation(location);
         }
     }
 
     public Document findById(Long id) {
-        return documentRepository.findById(id).orElse(null);
+        return documentRepository.findWithTranslatorById(id).orElse(null);
     }
 
     public void deleteById(Long id) {
         documentRepository.deleteById(id);
+        eventPublisher.publishEvent(DocumentChangeEvent.deleted(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Grava os blocos de uma importação de forma idempotente: a passagem do bloco para DONE, os documentos, os
+ * erros e os contadores de progresso são confirmados na mesma transação.
+ */
+@Component
+public class ImportChunkLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportChunkLedger.class);
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportSpool importSpool;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @return {@code false} se o bloco já havia sido gravado, caso em que nada é gravado novamente
+     */
+    @Transactional
+    public boolean commit(ImportChunk chunk, ImportChunkWriter writer, List<Document> documents,
+                          List<ImportError> importErrors) {
+        Long documentImportId = chunk.getDocumentImport().getId();
+        if (importChunkRepository.markDone(chunk.getId()) == 0) {
+            logger.info("Bloco {} da importação {} já gravado anteriormente", chunk.getChunkIndex(), documentImportId);
+            return false;
+        }
+
+        writer.write(documents, importErrors);
+        documentImportRepository.incrementProgress(documentImportId, documents.size(), importErrors.size());
+        eventPublisher.publishEvent(DocumentChangeEvent.saved(documents));
+        return true;
+    }
+
+    /**
+     * Finaliza a importação se todos os blocos já foram gravados. Deve ser chamado depois do commit do bloco, para
+     * que o último worker a terminar enxergue os blocos gravados pelos demais.
+     */
+    public void completeIfDone(DocumentImport documentImport) {
+        int completed = documentImportRepository.completeIfDone(documentImport.getId(),
+                "Importação concluída com sucesso", "Importação concluída com alguns erros", LocalDateTime.now());
+        if (completed > 0) {
+            importSpool.delete(documentImport.getId());
+            logger.info("Importação {} finalizada", documentImport.getId());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.ImportError;
+
+import java.util.List;
+
+/**
+ * Persiste um bloco já validado de uma importação de CSV.
+ */
+public interface ImportChunkWriter {
+
+    void write(List<Document> documents, List<ImportError> importErrors);
+}
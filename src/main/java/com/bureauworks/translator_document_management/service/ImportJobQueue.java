@@ -0,0 +1,105 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Fila de importações persistida no próprio banco, em dois níveis: importações a planejar
+ * ({@code document_imports}) e blocos a gravar ({@code import_chunk}). Cada nó reserva um item por vez com
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED} e o mantém por um período renovável; se o nó cair, a reserva expira e
+ * o item volta a ser elegível para qualquer nó.
+ */
+@Component
+public class ImportJobQueue {
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    private final String nodeId;
+
+    private final long leaseSeconds;
+
+    private final int maxRunningPerTenant;
+
+    public ImportJobQueue(@Value("${import.queue.node-id:}") String nodeId,
+                          @Value("${import.queue.lease:2m}") Duration lease,
+                          @Value("${import.queue.max-running-per-tenant:2}") int maxRunningPerTenant) {
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : defaultNodeId();
+        this.leaseSeconds = lease.toSeconds();
+        this.maxRunningPerTenant = maxRunningPerTenant;
+    }
+
+    /**
+     * Reserva a próxima importação para este nó.
+     *
+     * @return id da importação reservada, ou vazio se não houver importação disponível
+     */
+    @Transactional
+    public Optional<Long> claim() {
+        Optional<Long> documentImportId = documentImportRepository.findNextClaimableId(maxRunningPerTenant);
+        documentImportId.ifPresent(id -> documentImportRepository.claim(id, nodeId, leaseSeconds));
+        return documentImportId;
+    }
+
+    /**
+     * Reserva o próximo bloco pendente, de qualquer importação, para este nó. O limite por tenant vale também
+     * para os blocos, para que a importação grande de um tenant não ocupe todos os workers de blocos.
+     *
+     * @return id do bloco reservado, ou vazio se não houver bloco disponível
+     */
+    @Transactional
+    public Optional<Long> claimChunk() {
+        Optional<Long> importChunkId = importChunkRepository.findNextClaimableId(maxRunningPerTenant);
+        importChunkId.ifPresent(id -> importChunkRepository.claim(id, nodeId, leaseSeconds));
+        return importChunkId;
+    }
+
+    public void renewLeases() {
+        documentImportRepository.renewLeases(nodeId, leaseSeconds);
+        importChunkRepository.renewLeases(nodeId, leaseSeconds);
+    }
+
+    /**
+     * Devolve a importação à fila se o planejamento dela foi interrompido neste nó.
+     */
+    public void release(Long documentImportId) {
+        documentImportRepository.release(documentImportId, nodeId);
+    }
+
+    /**
+     * Devolve o bloco à fila se ele ainda estiver reservado por este nó.
+     *
+     * @param failed se a gravação falhou, caso em que uma tentativa é contabilizada
+     */
+    public void releaseChunk(Long importChunkId, boolean failed) {
+        importChunkRepository.release(importChunkId, nodeId, failed);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bureauworks.translator_document_management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Consome a fila de importações deste nó. A cada ciclo reserva, enquanto houver workers livres, importações a
+ * planejar (em {@code importJobExecutor}) e blocos a gravar (em {@code importChunkExecutor}). O que passar da
+ * capacidade permanece na fila do banco para este ou outro nó.
+ */
+@Component
+@ConditionalOnProperty(name = "import.queue.enabled", havingValue = "true", matchIfMissing = true)
+public class ImportJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobWorker.class);
+
+    @Autowired
+    private ImportJobQueue importJobQueue;
+
+    @Autowired
+    private DocumentImportPlanner documentImportPlanner;
+
+    @Autowired
+    private DocumentImportProcessor documentImportProcessor;
+
+    @Autowired
+    @Qualifier("importJobExecutor")
+    private Executor importJobExecutor;
+
+    @Autowired
+    @Qualifier("importChunkExecutor")
+    private Executor importChunkExecutor;
+
+    private final int planners;
+
+    private final int chunkWorkers;
+
+    private final Semaphore freePlanners;
+
+    private final Semaphore freeChunkWorkers;
+
+    private volatile boolean stopping;
+
+    public ImportJobWorker(@Value("${import.queue.workers:2}") int planners,
+                           @Value("${import.workers:4}") int chunkWorkers) {
+        this.planners = planners;
+        this.chunkWorkers = chunkWorkers;
+        this.freePlanners = new Semaphore(planners);
+        this.freeChunkWorkers = new Semaphore(chunkWorkers);
+    }
+
+    @Scheduled(fixedDelayString = "${import.queue.poll-interval-ms:1000}")
+    public void poll() {
+        dispatch(freePlanners, importJobQueue::claim, importJobExecutor,
+                documentImportPlanner::plan, importJobQueue::release);
+        dispatch(freeChunkWorkers, importJobQueue::claimChunk, importChunkExecutor,
+                documentImportProcessor::process, id -> importJobQueue.releaseChunk(id, false));
+    }
+
+    @Scheduled(fixedDelayString = "${import.queue.heartbeat-interval-ms:30000}")
+    public void renewLeases() {
+        if (freePlanners.availablePermits() < planners || freeChunkWorkers.availablePermits() < chunkWorkers) {
+            importJobQueue.renewLeases();
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        stopping = true;
+    }
+
+    /**
+     * Reserva itens com {@code claim} enquanto houver permissões livres e executa {@code task} para cada um. Ao
+     * final da tarefa, {@code release} devolve o item à fila caso ele não tenha sido concluído.
+     */
+    private void dispatch(Semaphore free, Supplier<Optional<Long>> claim, Executor executor, Consumer<Long> task,
+                          Consumer<Long> release) {
+        while (!stopping && free.tryAcquire()) {
+            Optional<Long> claimed;
+            try {
+                claimed = claim.get();
+            } catch (RuntimeException e) {
+                free.release();
+                logger.error("Erro ao consultar a fila de importações: ", e);
+                return;
+            }
+            if (claimed.isEmpty()) {
+                free.release();
+                return;
+            }
+
+            Long id = claimed.get();
+            try {
+                executor.execute(() -> run(id, task, release, free));
+            } catch (RejectedExecutionException e) {
+                free.release();
+                release.accept(id);
+                return;
+            }
+        }
+    }
+
+    private void run(Long id, Consumer<Long> task, Consumer<Long> release, Semaphore free) {
+        try {
+            task.accept(id);
+        } finally {
+            try {
+                release.accept(id);
+            } catch (RuntimeException e) {
+                logger.warn("Não foi possível devolver o item {} à fila de importações", id, e);
+            }
+            free.release();
+        }
+    }
+}
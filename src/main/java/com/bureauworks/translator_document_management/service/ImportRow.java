@@ -0,0 +1,32 @@
+package com.bureauworks.translator_document_management.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+
+/**
+ * Linha de dados do CSV de importação, com o número reportado nos erros.
+ */
+record ImportRow(int rowNum, String subject, String content, String location, String author,
+                 String translatorEmail) {
+
+    static final String[] HEADERS = {"subject", "content", "location", "author", "translator_email"};
+
+    /** Linhas de um bloco copiadas pelo planejamento para {@code import_chunk.payload}, sem cabeçalho. */
+    static final CSVFormat PAYLOAD_FORMAT = CSVFormat.DEFAULT.builder()
+            .setDelimiter(';')
+            .build();
+
+    // O cabeçalho é lido e validado à parte; o parser recebe apenas as linhas de dados
+    static final CSVFormat FORMAT = PAYLOAD_FORMAT.builder()
+            .setHeader(HEADERS)
+            .build();
+
+    static ImportRow of(CSVRecord record, int rowNum) {
+        return new ImportRow(rowNum, record.get("subject"), record.get("content"), record.get("location"),
+                record.get("author"), record.get("translator_email"));
+    }
+
+    static boolean isBlank(CSVRecord record) {
+        return record.stream().noneMatch(field -> field != null && !field.trim().isEmpty());
+    }
+}
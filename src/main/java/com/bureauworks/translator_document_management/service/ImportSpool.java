@@ -0,0 +1,149 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.repository.ImportSpoolPartRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Arquivos recebidos para importação, guardados no banco ({@code import_spool_part}) em partes de
+ * {@link #PART_SIZE} bytes até o fim do planejamento. Assim qualquer nó planeja a importação sem um sistema de
+ * arquivos compartilhado. O upload é copiado ainda na thread da requisição, pois o {@link MultipartFile} deixa de
+ * existir quando a requisição termina.
+ */
+@Component
+public class ImportSpool {
+
+    static final int PART_SIZE = 1024 * 1024;
+
+    @Autowired
+    private ImportSpoolPartRepository importSpoolPartRepository;
+
+    private final TransactionTemplate readTransaction;
+
+    public ImportSpool(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Transactional
+    public void store(Long importId, MultipartFile file) {
+        try (InputStream input = file.getInputStream()) {
+            int partIndex = 0;
+            byte[] part = input.readNBytes(PART_SIZE);
+            // Um arquivo vazio também tem uma parte, para que o planejamento o reporte como vazio
+            do {
+                importSpoolPartRepository.insert(importId, partIndex++, part);
+                part = input.readNBytes(PART_SIZE);
+            } while (part.length > 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o arquivo da importação " + importId, e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public boolean exists(Long importId) {
+        return importSpoolPartRepository.existsByDocumentImportId(importId);
+    }
+
+    /** Tamanho do arquivo em bytes. */
+    @Transactional(readOnly = true)
+    public long size(Long importId) {
+        return importSpoolPartRepository.sumSize(importId);
+    }
+
+    /**
+     * Abre o arquivo para leitura sequencial. Cada parte é lida do banco em uma transação própria quando o leitor
+     * chega a ela, então apenas uma parte fica em memória por vez.
+     */
+    public BufferedReader open(Long importId) {
+        return new BufferedReader(new InputStreamReader(new PartInputStream(importId), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Avança o leitor {@code chars} caracteres, até o início de um bloco.
+     */
+    public static void skip(BufferedReader reader, long chars) throws IOException {
+        long remaining = chars;
+        while (remaining > 0) {
+            long skipped = reader.skip(remaining);
+            if (skipped == 0) {
+                throw new EOFException("Posição além do fim do arquivo");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    @Transactional
+    public void delete(Long importId) {
+        importSpoolPartRepository.deleteAllByDocumentImportId(importId);
+    }
+
+    /**
+     * Concatena as partes do arquivo na ordem de {@code part_index}, terminando na primeira parte ausente.
+     */
+    private class PartInputStream extends InputStream {
+
+        private final Long importId;
+
+        private int nextPart;
+
+        private byte[] part = new byte[0];
+
+        private int position;
+
+        private boolean finished;
+
+        PartInputStream(Long importId) {
+            this.importId = importId;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return part[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, part.length - position);
+            System.arraycopy(part, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() {
+            while (!finished && position == part.length) {
+                int partIndex = nextPart++;
+                byte[] next = readTransaction.execute(status ->
+                        importSpoolPartRepository.findData(importId, partIndex).orElse(null));
+                if (next == null) {
+                    finished = true;
+                } else {
+                    part = next;
+                    position = 0;
+                }
+            }
+            return position < part.length;
+        }
+    }
+}
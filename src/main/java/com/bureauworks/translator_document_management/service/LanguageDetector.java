@@ -0,0 +1,16 @@
+package com.bureauworks.translator_document_management.service;
+
+import java.util.List;
+
+/**
+ * Detecta o idioma de um trecho de texto, retornando o código no formato xx-xx (idioma e país) ou uma string
+ * vazia quando o idioma não pôde ser identificado.
+ */
+public interface LanguageDetector {
+
+    String detectLanguage(String content);
+
+    default List<String> detectLanguages(List<String> contents) {
+        return contents.stream().map(this::detectLanguage).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.optimaize.langdetect.DetectedLanguage;
+import com.optimaize.langdetect.LanguageDetectorBuilder;
+import com.optimaize.langdetect.i18n.LdLocale;
+import com.optimaize.langdetect.ngram.NgramExtractors;
+import com.optimaize.langdetect.profiles.LanguageProfileReader;
+import com.optimaize.langdetect.text.CommonTextObjectFactories;
+import com.optimaize.langdetect.text.TextObjectFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Detector de idioma local, baseado em perfis de n-gramas de caracteres. Retorna string vazia quando a confiança
+ * fica abaixo de {@code language-detection.local.min-confidence} ou quando não há país padrão para o idioma, para
+ * que o próximo nível de detecção seja consultado.
+ */
+@Component
+public class NgramLanguageDetector implements LanguageDetector {
+
+    // País assumido para cada idioma, já que os perfis de n-gramas identificam apenas o idioma
+    private static final Map<String, String> DEFAULT_COUNTRIES = Map.ofEntries(
+            Map.entry("pt", "br"), Map.entry("en", "us"), Map.entry("es", "es"), Map.entry("fr", "fr"),
+            Map.entry("de", "de"), Map.entry("it", "it"), Map.entry("nl", "nl"), Map.entry("ja", "jp"),
+            Map.entry("zh", "cn"), Map.entry("ko", "kr"), Map.entry("ru", "ru"), Map.entry("pl", "pl"),
+            Map.entry("sv", "se"), Map.entry("da", "dk"), Map.entry("no", "no"), Map.entry("fi", "fi"),
+            Map.entry("el", "gr"), Map.entry("cs", "cz"), Map.entry("uk", "ua"), Map.entry("tr", "tr"),
+            Map.entry("ro", "ro"), Map.entry("hu", "hu"), Map.entry("ar", "sa"), Map.entry("he", "il"),
+            Map.entry("hi", "in"), Map.entry("vi", "vn"), Map.entry("id", "id"), Map.entry("th", "th"),
+            Map.entry("ca", "es"), Map.entry("bg", "bg"), Map.entry("hr", "hr"), Map.entry("sk", "sk"),
+            Map.entry("sl", "si"), Map.entry("sr", "rs"), Map.entry("lt", "lt"), Map.entry("lv", "lv"),
+            Map.entry("et", "ee"), Map.entry("fa", "ir"));
+
+    private final com.optimaize.langdetect.LanguageDetector detector;
+
+    private final TextObjectFactory textObjectFactory = CommonTextObjectFactories.forDetectingShortCleanText();
+
+    private final double minConfidence;
+
+    public NgramLanguageDetector(@Value("${language-detection.local.min-confidence:0.9}") double minConfidence) {
+        this.minConfidence = minConfidence;
+        try {
+            this.detector = LanguageDetectorBuilder.create(NgramExtractors.standard())
+                    .withProfiles(new LanguageProfileReader().readAllBuiltIn())
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar os perfis de idioma", e);
+        }
+    }
+
+    @Override
+    public String detectLanguage(String content) {
+        if (content == null || content.isBlank()) {
+            return "";
+        }
+
+        List<DetectedLanguage> languages = detector.getProbabilities(textObjectFactory.forText(content));
+        if (languages.isEmpty() || languages.get(0).getProbability() < minConfidence) {
+            return "";
+        }
+
+        LdLocale locale = languages.get(0).getLocale();
+        String language = locale.getLanguage();
+        String country = locale.getRegion().isPresent()
+                ? locale.getRegion().get().toLowerCase(Locale.ROOT)
+                : DEFAULT_COUNTRIES.get(language);
+        return country == null ? "" : language + "-" + country;
+    }
+}
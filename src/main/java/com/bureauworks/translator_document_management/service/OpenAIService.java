@@ -1,6 +1,8 @@
 package com.bureauworks.translator_document_management.service;
 
 import org.json.JSONArray;
+import org.json.JSONException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -10,21 +12,80 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
 
 @Service
-public class OpenAIService {
+public class OpenAIService implements LanguageDetector {
+
+    @Autowired
+    private RestTemplate openAIRestTemplate;
 
     @Value("${openai.api.key}")
     private String apiKey;
 
-    private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
+    @Value("${openai.api.url:https://api.openai.com/v1/chat/completions}")
+    private String apiUrl;
+
+    @Value("${openai.batch-size:20}")
+    private int batchSize;
+
     private static final Pattern LANGUAGE_CODE_PATTERN = Pattern.compile("^[a-z]{2}-[a-z]{2}$");
 
+    @Override
     public String detectLanguage(String content) {
-        RestTemplate restTemplate = new RestTemplate();
+        String languageCode = complete("Detect the language of the following content and return me only your " +
+                "language code and country code in format xx-xx: " + content, 5);
+
+        return validLanguageCode(languageCode);
+    }
+
+    /**
+     * Detecta o idioma de vários trechos, enviando até {@code batchSize} trechos por requisição.
+     *
+     * @return códigos no formato xx-xx na mesma ordem de {@code contents}; string vazia quando o idioma não
+     * pôde ser identificado
+     */
+    @Override
+    public List<String> detectLanguages(List<String> contents) {
+        List<String> languageCodes = new ArrayList<>(contents.size());
+        for (int start = 0; start < contents.size(); start += batchSize) {
+            List<String> batch = contents.subList(start, Math.min(start + batchSize, contents.size()));
+            languageCodes.addAll(detectBatch(batch));
+        }
+        return languageCodes;
+    }
+
+    private List<String> detectBatch(List<String> batch) {
+        String answer = complete("Detect the language of each item of the following JSON array and return me " +
+                "only a JSON array with the language code and country code of each item, in format xx-xx and in " +
+                "the same order: " + new JSONArray(batch), 8 * batch.size() + 10);
 
+        JSONArray codes = parseJsonArray(answer);
+        List<String> languageCodes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String languageCode = codes != null && i < codes.length() ? codes.optString(i, "") : "";
+            languageCodes.add(validLanguageCode(languageCode.trim().toLowerCase()));
+        }
+        return languageCodes;
+    }
+
+    private JSONArray parseJsonArray(String answer) {
+        int start = answer.indexOf('[');
+        int end = answer.lastIndexOf(']');
+        if (start < 0 || end < start) {
+            return null;
+        }
+        try {
+            return new JSONArray(answer.substring(start, end + 1));
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private String complete(String prompt, int maxTokens) {
         HttpHeaders headers = new HttpHeaders();
         headers.set("Authorization", "Bearer " + apiKey);
         headers.set("Content-Type", "application/json");
@@ -35,8 +96,7 @@ public class OpenAIService {
 
         JSONObject userMessage = new JSONObject();
         userMessage.put("role", "user");
-        userMessage.put("content", "Detect the language of the following content and return me only your language " +
-                "code and country code in format xx-xx: " + content);
+        userMessage.put("content", prompt);
 
         JSONArray messages = new JSONArray();
         messages.put(systemMessage);
@@ -45,16 +105,18 @@ public class OpenAIService {
         JSONObject requestBody = new JSONObject();
         requestBody.put("model", "gpt-4");
         requestBody.put("messages", messages);
-        requestBody.put("max_tokens", 5);
+        requestBody.put("max_tokens", maxTokens);
 
         HttpEntity<String> entity = new HttpEntity<>(requestBody.toString(), headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(OPENAI_API_URL, HttpMethod.POST, entity, String.class);
+        ResponseEntity<String> response = openAIRestTemplate.exchange(apiUrl, HttpMethod.POST, entity, String.class);
 
         JSONObject responseJson = new JSONObject(response.getBody());
-        String languageCode = responseJson.getJSONArray("choices").getJSONObject(0)
+        return responseJson.getJSONArray("choices").getJSONObject(0)
                 .getJSONObject("message").getString("content").trim().toLowerCase();
+    }
 
+    private String validLanguageCode(String languageCode) {
         // Validate the format of the response
         Matcher matcher = LANGUAGE_CODE_PATTERN.matcher(languageCode);
         if (matcher.matches()) {
@@ -63,4 +125,4 @@ public class OpenAIService {
             return "";
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.bureauworks.translator_document_management.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detecção de idioma em níveis: o detector local responde quando tem confiança suficiente e apenas os trechos
+ * restantes são enviados ao OpenAI.
+ */
+@Service
+public class TieredLanguageDetector implements LanguageDetector {
+
+    @Autowired
+    private NgramLanguageDetector ngramLanguageDetector;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @Override
+    public String detectLanguage(String content) {
+        String languageCode = ngramLanguageDetector.detectLanguage(content);
+        return languageCode.isEmpty() ? openAIService.detectLanguage(content) : languageCode;
+    }
+
+    @Override
+    public List<String> detectLanguages(List<String> contents) {
+        List<String> languageCodes = new ArrayList<>(ngramLanguageDetector.detectLanguages(contents));
+
+        List<Integer> pending = new ArrayList<>();
+        List<String> pendingContents = new ArrayList<>();
+        for (int i = 0; i < languageCodes.size(); i++) {
+            if (languageCodes.get(i).isEmpty()) {
+                pending.add(i);
+                pendingContents.add(contents.get(i));
+            }
+        }
+        if (pending.isEmpty()) {
+            return languageCodes;
+        }
+
+        List<String> remoteCodes = openAIService.detectLanguages(pendingContents);
+        for (int i = 0; i < pending.size(); i++) {
+            languageCodes.set(pending.get(i), remoteCodes.get(i));
+        }
+        return languageCodes;
+    }
+}
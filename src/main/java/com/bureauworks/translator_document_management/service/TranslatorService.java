@@ -1,15 +1,30 @@
 package com.bureauworks.translator_document_management.service;
 
+import com.bureauworks.translator_document_management.config.CacheConfig;
 import com.bureauworks.translator_document_management.repository.TranslatorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.PageCursor;
+import com.bureauworks.translator_document_management.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.bureauworks.translator_document_management.entity.Translator;
 import com.bureauworks.translator_document_management.exception.EmailAlreadyExistsException;
+import com.bureauworks.translator_document_management.exception.PreconditionFailedException;
 
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import java.util.List;
 import java.util.Set;
 
 @Service
@@ -21,42 +36,90 @@ public class TranslatorService {
     @Autowired
     private Validator validator;
 
-    //@Cacheable(value = "translators", key = "#pageable")
+    @Autowired
+    private CacheManager cacheManager;
+
     public Page<Translator> findAll(Pageable pageable) {
         return translatorRepository.findAllByOrderByCreateAtDesc(pageable);
     }
 
-    //@Cacheable(value = "translators", key = "#text")
+    public Slice<Translator> findAllWithoutCount(Pageable pageable) {
+        return translatorRepository.findSliceOrderByCreateAtDesc(pageable);
+    }
+
+    /**
+     * Página seguinte ao cursor informado (ou a primeira, sem cursor). Busca uma linha a mais apenas para saber
+     * se há próxima página.
+     */
+    public CursorPage<Translator> findAllByCursor(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<Translator> rows = after == null
+                ? translatorRepository.findKeysetPage(limit)
+                : translatorRepository.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        return CursorPage.of(rows, size, row -> new PageCursor(row.getCreatedAt(), row.getId()));
+    }
+
     public Page<Translator> searchTranslators(String text, Pageable pageable) {
         return translatorRepository.searchByText(text, pageable);
     }
 
-    //@CachePut(value = "translators", key = "#translator.id")
+    public Page<Translator> searchTranslatorsBySimilarity(String text, Pageable pageable) {
+        return translatorRepository.searchBySimilarity(text, pageable);
+    }
+
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.TRANSLATORS, key = "#result.id"),
+            @CachePut(cacheNames = CacheConfig.TRANSLATORS_BY_EMAIL, key = "#result.email")
+    })
     public Translator save(Translator translator) {
         validateData(translator);
 
         // Validação de email
-        if (translatorRepository.existsByEmail(translator.getEmail())) {
+        if (translatorRepository.findByEmail(translator.getEmail()) != null) {
             throw new EmailAlreadyExistsException("Este email já está em uso.");
         }
         return translatorRepository.save(translator);
     }
 
-    public Translator update(Translator translator, Translator newTranslator) {
+    /**
+     * Atualiza o tradutor relido do banco: a instância recebida pode ser a guardada em cache, compartilhada entre
+     * requisições, e não é alterada. O e-mail anterior sai do cache antes da gravação, assim como o próprio
+     * tradutor, que volta ao cache apenas se a gravação for concluída.
+     * <p>
+     * Com {@code ifMatch} (cabeçalho If-Match), a ETag do tradutor relido deve corresponder, senão
+     * {@link PreconditionFailedException}. Uma gravação concorrente entre a leitura e o UPDATE, que compara a
+     * coluna de versão, resulta em {@link org.springframework.dao.OptimisticLockingFailureException}.
+     */
+    @Transactional
+    @Caching(evict = @CacheEvict(cacheNames = CacheConfig.TRANSLATORS, key = "#translator.id",
+            beforeInvocation = true),
+            put = @CachePut(cacheNames = CacheConfig.TRANSLATORS, key = "#result.id"))
+    public Translator update(Translator translator, Translator newTranslator, String ifMatch) {
         validateData(newTranslator);
 
+        Translator current = translatorRepository.findCurrentById(translator.getId())
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(Translator.class, translator.getId()));
+        if (!ResourceVersion.of(current).matches(ifMatch)) {
+            throw new PreconditionFailedException("O tradutor foi alterado desde a versão informada em If-Match.");
+        }
+
         // Validação de email
-        if (!newTranslator.getEmail().equals(translator.getEmail()) &&
-                translatorRepository.existsByEmail(newTranslator.getEmail()))
+        if (!newTranslator.getEmail().equals(current.getEmail()) &&
+                translatorRepository.findByEmail(newTranslator.getEmail()) != null)
         {
                 throw new EmailAlreadyExistsException("Este email já está em uso.");
         }
 
-        translator.setName(newTranslator.getName());
-        translator.setEmail(newTranslator.getEmail());
-        translator.setSourceLanguage(newTranslator.getSourceLanguage());
-        translator.setTargetLanguage(newTranslator.getTargetLanguage());
-        return translatorRepository.save(translator);
+        // O e-mail anterior é o do tradutor relido: o recebido pode ter vindo de um cache desatualizado, se outro
+        // nó já tiver alterado o e-mail
+        cacheManager.getCache(CacheConfig.TRANSLATORS_BY_EMAIL).evict(current.getEmail());
+        current.setName(newTranslator.getName());
+        current.setEmail(newTranslator.getEmail());
+        current.setSourceLanguage(newTranslator.getSourceLanguage());
+        current.setTargetLanguage(newTranslator.getTargetLanguage());
+        // O conflito de versão surge aqui, antes de o resultado ir para o cache
+        return translatorRepository.saveAndFlush(current);
     }
 
     private void validateData(Translator translator) {
@@ -70,13 +133,16 @@ public class TranslatorService {
         }
     }
 
-    //@Cacheable(value = "translators", key = "#id")
+    @Cacheable(cacheNames = CacheConfig.TRANSLATORS, key = "#id", unless = "#result == null")
     public Translator findById(Long id) {
         return translatorRepository.findById(id).orElse(null);
     }
 
-    //@CacheEvict(value = "translators", key = "#id")
-    public void deleteById(Long id) {
-        translatorRepository.deleteById(id);
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TRANSLATORS, key = "#translator.id"),
+            @CacheEvict(cacheNames = CacheConfig.TRANSLATORS_BY_EMAIL, key = "#translator.email")
+    })
+    public void delete(Translator translator) {
+        translatorRepository.deleteById(translator.getId());
     }
 }
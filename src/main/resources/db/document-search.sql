@@ -0,0 +1,50 @@
+-- Busca textual de documentos (PostgreSQL). Executado após o ddl-auto do Hibernate; todos os comandos são idempotentes.
+-- Sem ponto e vírgula dentro dos corpos das funções: o script é dividido em comandos por ';'.
+
+-- Configuração de texto a partir da localização do documento ("pt-br" -> portuguese). Desconhecidas usam simple.
+-- IMMUTABLE é exigido pela coluna gerada search_vector. É seguro porque o resultado depende apenas do argumento: o
+-- CASE é fixo e só retorna configurações embutidas, qualificadas com pg_catalog para que a conversão de texto para
+-- regconfig não dependa do search_path. Essas configurações são criadas pelo initdb e não mudam de OID. Para
+-- incluir um idioma, acrescente um WHEN e recalcule search_vector (UPDATE document SET location = location).
+CREATE OR REPLACE FUNCTION document_ts_config(location text) RETURNS regconfig
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+SELECT CASE lower(split_part(coalesce(location, ''), '-', 1))
+           WHEN 'pt' THEN 'pg_catalog.portuguese'::regconfig
+           WHEN 'en' THEN 'pg_catalog.english'::regconfig
+           WHEN 'es' THEN 'pg_catalog.spanish'::regconfig
+           WHEN 'fr' THEN 'pg_catalog.french'::regconfig
+           WHEN 'de' THEN 'pg_catalog.german'::regconfig
+           WHEN 'it' THEN 'pg_catalog.italian'::regconfig
+           ELSE 'pg_catalog.simple'::regconfig
+       END
+$$;
+
+-- Consulta da pesquisa. Com a localização informada, usa a configuração dela; sem localização, combina as
+-- configurações suportadas para encontrar documentos de qualquer idioma com uma única condição sobre o índice GIN.
+-- Usada apenas nas consultas (não em índices nem colunas geradas), então é declarada STABLE.
+CREATE OR REPLACE FUNCTION document_ts_query(text text, location text) RETURNS tsquery
+    LANGUAGE sql STABLE PARALLEL SAFE
+AS $$
+SELECT CASE
+           WHEN location IS NOT NULL AND location <> ''
+               THEN websearch_to_tsquery(document_ts_config(location), text)
+           ELSE websearch_to_tsquery(document_ts_config('pt'), text)
+               || websearch_to_tsquery(document_ts_config('en'), text)
+               || websearch_to_tsquery(document_ts_config('es'), text)
+               || websearch_to_tsquery(document_ts_config('fr'), text)
+               || websearch_to_tsquery(document_ts_config('de'), text)
+               || websearch_to_tsquery(document_ts_config('it'), text)
+               || websearch_to_tsquery(document_ts_config(''), text)
+       END
+$$;
+
+-- Assunto pesa mais que autor, que pesa mais que conteúdo. O conteúdo é limitado para não estourar o tamanho
+-- máximo de um tsvector (1MB).
+ALTER TABLE document ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector(document_ts_config(location), coalesce(subject, '')), 'A') ||
+    setweight(to_tsvector(document_ts_config(location), coalesce(author, '')), 'B') ||
+    setweight(to_tsvector(document_ts_config(location), left(coalesce(content, ''), 100000)), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_document_search_vector ON document USING gin (search_vector);
@@ -0,0 +1,7 @@
+-- Índices de trigramas (pg_trgm) para as pesquisas de tradutores e importações. Servem tanto o LIKE com curinga
+-- no início ('%texto%') quanto a busca por similaridade (operador %). Todos os comandos são idempotentes.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_translator_name_trgm ON translator USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_translator_email_trgm ON translator USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_import_file_name_trgm ON document_imports USING gin (lower(file_name) gin_trgm_ops);
@@ -0,0 +1,84 @@
+package com.bureauworks.translator_document_management.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class VirtualThreadTaskExecutorTests {
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private VirtualThreadTaskExecutor executor;
+
+    @AfterEach
+    void destroyExecutor() {
+        unblock.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void rejectsTasksBeyondConcurrencyWhenThereIsNoQueue() throws InterruptedException {
+        executor = new VirtualThreadTaskExecutor("Test-", 2, 0);
+        CountDownLatch finished = new CountDownLatch(2);
+
+        executor.execute(blockingTask(finished));
+        executor.execute(blockingTask(finished));
+        assertThatThrownBy(() -> executor.execute(blockingTask(finished)))
+                .isInstanceOf(TaskRejectedException.class);
+
+        // Ao terminar, as tarefas devolvem a capacidade do executor
+        unblock.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        CountDownLatch next = new CountDownLatch(1);
+        await().atMost(Duration.ofSeconds(5)).ignoreException(TaskRejectedException.class).until(() -> {
+            executor.execute(next::countDown);
+            return true;
+        });
+        assertThat(next.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void queuesUpToCapacityWithoutExceedingConcurrency() throws InterruptedException {
+        executor = new VirtualThreadTaskExecutor("Test-", 2, 2);
+        CountDownLatch finished = new CountDownLatch(4);
+
+        for (int i = 0; i < 4; i++) {
+            executor.execute(blockingTask(finished));
+        }
+        assertThatThrownBy(() -> executor.execute(blockingTask(finished)))
+                .isInstanceOf(TaskRejectedException.class);
+
+        // Espera as duas primeiras tarefas começarem; as outras duas aguardam na fila
+        await().atMost(Duration.ofSeconds(5)).until(() -> running.get() == 2);
+        unblock.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    private Runnable blockingTask(CountDownLatch finished) {
+        return () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+                finished.countDown();
+            }
+        };
+    }
+}
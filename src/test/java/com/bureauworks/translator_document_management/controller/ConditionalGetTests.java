@@ -0,0 +1,107 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class ConditionalGetTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Translator translator;
+
+    private Document document;
+
+    @BeforeEach
+    void createDocument() {
+        String run = UUID.randomUUID().toString();
+        translator = translatorRepository.save(
+                new Translator("ETag " + run, "etag-" + run + "@example.com", "pt-br", "en-us", null));
+        document = documentRepository.save(new Document("Assunto", "Conteúdo longo", "pt-br", "Autor", translator));
+    }
+
+    @Test
+    void answersNotModifiedForCurrentDocument() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/documents/{id}", document.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-0\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andReturn();
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertThat(lastModified).isNotNull();
+
+        mockMvc.perform(get("/api/v1/documents/{id}", document.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/documents/{id}", document.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changesDocumentETagOnDocumentAndTranslatorUpdates() throws Exception {
+        mockMvc.perform(put("/api/v1/documents/{id}", document.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\":\"Assunto revisado\",\"content\":\"Novo conteúdo\"," +
+                                "\"location\":\"pt-br\",\"author\":\"Autor\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/documents/{id}", document.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""));
+
+        mockMvc.perform(put("/api/v1/translators/{id}", translator.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + translator.getName() + " revisado\",\"email\":\"" +
+                                translator.getEmail() + "\",\"sourceLanguage\":\"pt-br\",\"targetLanguage\":\"es\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(get("/api/v1/translators/{id}", translator.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(get("/api/v1/translators/{id}", translator.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/documents/{id}", document.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1\""));
+    }
+
+    @Test
+    void letsClientsReuseListPagesBriefly() throws Exception {
+        mockMvc.perform(get("/api/v1/documents"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, private"));
+        mockMvc.perform(get("/api/v1/translators/cursor"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=5, private"));
+    }
+}
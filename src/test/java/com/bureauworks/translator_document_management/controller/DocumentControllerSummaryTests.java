@@ -0,0 +1,72 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class DocumentControllerSummaryTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    private Document document;
+
+    @BeforeEach
+    void createDocument() {
+        Translator translator = translatorRepository.findByEmail("summary@example.com");
+        if (translator == null) {
+            translator = translatorRepository.save(
+                    new Translator("Summary", "summary@example.com", "pt-br", "en-us", null));
+        }
+        document = documentRepository.save(new Document("Resumo de contrato", "Conteúdo extenso do contrato",
+                "pt-br", "Davi", translator));
+    }
+
+    @Test
+    void listsSummariesWithoutContent() throws Exception {
+        mockMvc.perform(get("/api/v1/documents/search").param("text", "Resumo de contrato"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(document.getId()))
+                .andExpect(jsonPath("$.content[0].translatorId").value(document.getTranslator().getId()))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("content"))));
+    }
+
+    @Test
+    void keepsOnlySelectedFields() throws Exception {
+        mockMvc.perform(get("/api/v1/documents").param("fields", "id,subject").param("count", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0]", hasKey("subject")))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("author"))));
+
+        mockMvc.perform(get("/api/v1/documents/search").param("text", "contrato").param("mode", "fulltext")
+                        .param("fields", "id,highlight"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0]", hasKey("highlight")))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("rank"))));
+
+        mockMvc.perform(get("/api/v1/documents").param("fields", "content"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,191 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.dto.ExportFormat;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import com.bureauworks.translator_document_management.service.DocumentExportService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"import.queue.enabled=false", "spring.jpa.show-sql=false"})
+@AutoConfigureMockMvc
+class DocumentExportTests extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentExportTests.class);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DocumentExportService documentExportService;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Translator translator;
+
+    private DocumentImport documentImport;
+
+    @BeforeEach
+    void createDocuments() {
+        String run = UUID.randomUUID().toString();
+        translator = translatorRepository.save(
+                new Translator("Exportação " + run, "export-" + run + "@example.com", "pt-br", "en-us", null));
+        Translator other = translatorRepository.save(
+                new Translator("Outro " + run, "other-" + run + "@example.com", "pt-br", "en-us", null));
+        documentImport = documentImportRepository.save(
+                new DocumentImport("export.csv", "Importação concluída", ImportMode.JPA));
+
+        List<Document> documents = new ArrayList<>();
+        documents.add(new Document("Contrato", "Linha 1\nLinha 2; com \"aspas\"", "pt-br", "Ana", translator,
+                documentImport));
+        documents.add(new Document("Manual", "Conteúdo do manual", "en-us", "Bia", translator));
+        documents.add(new Document("Relatório", "Conteúdo do relatório", "pt-br", "Caio", other, documentImport));
+        documentRepository.saveAll(documents);
+    }
+
+    @Test
+    void exportsFilteredDocumentsAsNdjson() throws Exception {
+        // Sem documentImportId e location: os filtros nulos chegam ao PostgreSQL como parâmetros ":param IS NULL"
+        MvcResult result = mockMvc.perform(get("/api/v1/documents/export")
+                        .param("translatorId", translator.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson;charset=UTF-8"))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("subject").asText()).isEqualTo("Contrato");
+        assertThat(first.get("content").asText()).isEqualTo("Linha 1\nLinha 2; com \"aspas\"");
+        assertThat(first.get("translatorId").asLong()).isEqualTo(translator.getId());
+        assertThat(first.get("documentImportId").asLong()).isEqualTo(documentImport.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("documentImportId").isNull()).isTrue();
+    }
+
+    @Test
+    void exportsFilteredDocumentsAsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/documents/export")
+                        .param("format", "csv")
+                        .param("documentImportId", documentImport.getId().toString())
+                        .param("location", "pt-br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"documents.csv\""))
+                .andReturn();
+
+        List<CSVRecord> records = CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).build()
+                .parse(new StringReader(result.getResponse().getContentAsString(StandardCharsets.UTF_8)))
+                .getRecords();
+        assertThat(records).extracting(record -> record.get("subject")).containsExactly("Contrato", "Relatório");
+        assertThat(records.get(0).get("content")).isEqualTo("Linha 1\nLinha 2; com \"aspas\"");
+    }
+
+    /**
+     * Exporta 1 milhão de documentos de 1 KB e mede o heap retido (após GC) a cada 100 mil linhas. Demorado; execute
+     * com {@code mvn test -Dtest=DocumentExportTests -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void exportKeepsMemoryConstant() {
+        update("INSERT INTO document (id, subject, content, location, author, translator_id, document_import_id, " +
+                "created_at) SELECT nextval('document_seq'), 'Bench ' || i, repeat(md5(i::text), 32), 'pt-br', " +
+                "'Bench', " + translator.getId() + ", NULL, now() FROM generate_series(1, 1000000) i");
+        HeapSamplingStream out = new HeapSamplingStream();
+
+        long start = System.nanoTime();
+        long exported = documentExportService.export(translator.getId(), null, null, ExportFormat.NDJSON, out);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("Exportação de {} documentos ({} MB) em {} ms; heap retido: {} MB no início, máximo {} MB",
+                exported, out.bytes >> 20, millis, out.baseline >> 20, out.maxRetained >> 20);
+        assertThat(exported).isEqualTo(1_000_002);
+        assertThat(out.bytes).isGreaterThan(1_000_000_000L);
+        assertThat(out.maxRetained - out.baseline).isLessThan(100L << 20);
+
+        update("DELETE FROM document WHERE author = 'Bench'");
+    }
+
+    private void update(String sql) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql));
+    }
+
+    private static long retainedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /** Descarta a saída, medindo o heap retido a cada 100 MB gravados. */
+    private static class HeapSamplingStream extends OutputStream {
+
+        private static final long SAMPLE_INTERVAL = 100L << 20;
+
+        private final long baseline = retainedHeap();
+        private long maxRetained = baseline;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            count(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count(len);
+        }
+
+        private void count(long len) {
+            if ((bytes + len) / SAMPLE_INTERVAL > bytes / SAMPLE_INTERVAL) {
+                maxRetained = Math.max(maxRetained, retainedHeap());
+            }
+            bytes += len;
+        }
+    }
+}
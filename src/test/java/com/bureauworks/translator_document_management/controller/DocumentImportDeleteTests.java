@@ -0,0 +1,81 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.service.ImportSpool;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class DocumentImportDeleteTests extends PostgresIntegrationTest {
+
+    private static final String CSV = "subject;content;location;author;translator_email\n" +
+            "Assunto;Conteúdo;pt-br;Autor;delete@example.com\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ImportSpool importSpool;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Test
+    void rejectsDeletingARunningImport() throws Exception {
+        DocumentImport documentImport = storeImport(ImportStatus.RUNNING);
+
+        mockMvc.perform(delete("/api/v1/documentImport/{id}", documentImport.getId()))
+                .andExpect(status().isConflict());
+
+        // Os workers de blocos continuam encontrando a importação e o arquivo
+        assertThat(documentImportRepository.findCurrentById(documentImport.getId())).isPresent();
+        assertThat(importSpool.exists(documentImport.getId())).isTrue();
+    }
+
+    @Test
+    void deletesAFinishedImportWithItsErrorsAndSpooledFile() throws Exception {
+        DocumentImport documentImport = storeImport(ImportStatus.FAILED);
+        importErrorRepository.save(new ImportError("Erro durante a importação", documentImport));
+
+        mockMvc.perform(delete("/api/v1/documentImport/{id}", documentImport.getId()))
+                .andExpect(status().isNoContent());
+
+        assertThat(documentImportRepository.findCurrentById(documentImport.getId())).isEmpty();
+        assertThat(importErrorRepository.countByDocumentImportId(documentImport.getId())).isZero();
+        assertThat(importSpool.exists(documentImport.getId())).isFalse();
+    }
+
+    private DocumentImport storeImport(ImportStatus status) {
+        DocumentImport documentImport = new DocumentImport("delete.csv", "Importação", ImportMode.JPA);
+        documentImport.setStatus(status);
+        if (status == ImportStatus.RUNNING) {
+            documentImport.setLockedBy("other-node");
+            documentImport.setLockedUntil(LocalDateTime.now().plusHours(1));
+        }
+        documentImportRepository.save(documentImport);
+        importSpool.store(documentImport.getId(), new MockMultipartFile("file", "delete.csv", "text/csv",
+                CSV.getBytes(StandardCharsets.UTF_8)));
+        return documentImport;
+    }
+}
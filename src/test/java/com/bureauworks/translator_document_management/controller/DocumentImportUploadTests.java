@@ -0,0 +1,71 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class DocumentImportUploadTests extends PostgresIntegrationTest {
+
+    private static final MockMultipartFile FILE = new MockMultipartFile("file", "upload.csv", "text/csv",
+            ("subject;content;location;author;translator_email\n" +
+                    "Assunto;Conteúdo;pt-br;Autor;upload@example.com\n").getBytes(StandardCharsets.UTF_8));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String tenant = UUID.randomUUID().toString();
+
+    // As importações ficariam na fila de outros testes que compartilham o banco
+    @AfterEach
+    void finishImports() {
+        transactionTemplate.executeWithoutResult(status -> documentImportRepository.findAll().stream()
+                .filter(documentImport -> documentImport.getTenant().startsWith(tenant))
+                .forEach(documentImport -> documentImport.setStatus(ImportStatus.FAILED)));
+    }
+
+    @Test
+    void acceptsTenantsUpToTheColumnLength() throws Exception {
+        String longest = tenant + "x".repeat(100 - tenant.length());
+
+        mockMvc.perform(multipart("/api/v1/documentImport/upload").file(FILE).header("X-Tenant-Id", longest))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.tenant").value(longest));
+    }
+
+    @Test
+    void rejectsBlankOrTooLongTenants() throws Exception {
+        long before = documentImportRepository.count();
+
+        mockMvc.perform(multipart("/api/v1/documentImport/upload").file(FILE)
+                        .header("X-Tenant-Id", tenant + "x".repeat(101 - tenant.length())))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(multipart("/api/v1/documentImport/upload").file(FILE).header("X-Tenant-Id", "   "))
+                .andExpect(status().isBadRequest());
+
+        assertThat(documentImportRepository.count()).isEqualTo(before);
+    }
+}
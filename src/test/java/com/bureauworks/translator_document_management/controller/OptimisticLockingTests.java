@@ -0,0 +1,134 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import com.bureauworks.translator_document_management.service.DocumentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class OptimisticLockingTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Translator translator;
+
+    private Document document;
+
+    @BeforeEach
+    void createDocument() {
+        String run = UUID.randomUUID().toString();
+        translator = translatorRepository.save(
+                new Translator("Versão " + run, "versao-" + run + "@example.com", "pt-br", "en-us", null));
+        document = documentRepository.save(new Document("Assunto", "Conteúdo", "pt-br", "Autor", translator));
+    }
+
+    @Test
+    void updatesDocumentOnlyWhenIfMatchIsCurrent() throws Exception {
+        mockMvc.perform(updateDocument("Primeira revisão").header(HttpHeaders.IF_MATCH, "\"0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
+                .andExpect(jsonPath("$.version").value(1));
+
+        mockMvc.perform(updateDocument("Revisão perdida").header(HttpHeaders.IF_MATCH, "\"0-0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(updateDocument("Revisão perdida").header(HttpHeaders.IF_MATCH, "W/\"1-0\""))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(documentRepository.findById(document.getId()).orElseThrow().getSubject())
+                .isEqualTo("Primeira revisão");
+
+        mockMvc.perform(updateDocument("Segunda revisão").header(HttpHeaders.IF_MATCH, "\"0-0\", \"1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-0\""));
+    }
+
+    @Test
+    void rejectsDocumentWrittenByAnotherRequestMeanwhile() throws Exception {
+        Document stale = documentService.findById(document.getId());
+
+        mockMvc.perform(updateDocument("Revisão concorrente"))
+                .andExpect(status().isOk());
+
+        stale.setSubject("Revisão sobre a versão anterior");
+        assertThatThrownBy(() -> documentService.save(stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(documentRepository.findById(document.getId()).orElseThrow().getSubject())
+                .isEqualTo("Revisão concorrente");
+    }
+
+    @Test
+    void checksTranslatorIfMatchAgainstDatabaseRow() throws Exception {
+        mockMvc.perform(get("/api/v1/translators/{id}", translator.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        // Outro nó grava o tradutor: o cache deste nó ainda guarda a versão 0
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE translator SET target_language = 'fr', version = version + 1 WHERE id = ?",
+                translator.getId()));
+
+        mockMvc.perform(updateTranslator("de").header(HttpHeaders.IF_MATCH, "\"0\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/v1/translators/{id}", translator.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.targetLanguage").value("fr"));
+
+        mockMvc.perform(updateTranslator("de").header(HttpHeaders.IF_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.targetLanguage").value("de"));
+    }
+
+    private MockHttpServletRequestBuilder updateDocument(String subject) {
+        return put("/api/v1/documents/{id}", document.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"subject\":\"" + subject + "\",\"content\":\"Conteúdo\"," +
+                        "\"location\":\"pt-br\",\"author\":\"Autor\"}");
+    }
+
+    private MockHttpServletRequestBuilder updateTranslator(String targetLanguage) {
+        return put("/api/v1/translators/{id}", translator.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + translator.getName() + "\",\"email\":\"" + translator.getEmail() +
+                        "\",\"sourceLanguage\":\"pt-br\",\"targetLanguage\":\"" + targetLanguage + "\"}");
+    }
+}
@@ -0,0 +1,168 @@
+package com.bureauworks.translator_document_management.controller;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate em cada requisição. Os limites não dependem da quantidade de
+ * documentos e erros da importação, o que denunciaria um N+1.
+ */
+@SpringBootTest(properties = {"import.queue.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureMockMvc
+class QueryCountTests extends PostgresIntegrationTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    private DocumentImport documentImport;
+
+    private Document document;
+
+    private String translatorName;
+
+    @BeforeEach
+    void createImportWithDocumentsAndErrors() {
+        String run = UUID.randomUUID().toString();
+        List<Translator> translators = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            translators.add(new Translator("Tradutor " + i + " " + run, "n1-" + i + "-" + run + "@example.com",
+                    "pt-br", "en-us", null));
+        }
+        translators = translatorRepository.saveAll(translators);
+
+        documentImport = new DocumentImport("n1.csv", "Importação concluída", ImportMode.JPA);
+        documentImport.setStatus(ImportStatus.COMPLETED);
+        documentImport = documentImportRepository.save(documentImport);
+
+        List<Document> documents = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            documents.add(new Document("Assunto " + i, "Conteúdo " + i, "pt-br", "Autor", translators.get(i),
+                    documentImport));
+            errors.add(new ImportError("Erro na linha " + i, documentImport));
+        }
+        documents = documentRepository.saveAll(documents);
+        importErrorRepository.saveAll(errors);
+        document = documents.get(0);
+        translatorName = translators.get(0).getName();
+    }
+
+    @Test
+    void listsImportsWithoutLoadingCollections() throws Exception {
+        assertQueries(2, get("/api/v1/documentImport").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0]", not(hasKey("documents"))))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("importErrors"))));
+        assertQueries(1, get("/api/v1/documentImport/cursor").param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void pagesImportDocumentsAndErrors() throws Exception {
+        assertQueries(3, get("/api/v1/documentImport/{id}/documents", documentImport.getId()).param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(ROWS))
+                .andExpect(jsonPath("$.content[0].translatorId").isNumber());
+        assertQueries(3, get("/api/v1/documentImport/{id}/errors", documentImport.getId()).param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(ROWS))
+                .andExpect(jsonPath("$.content[0].message").value("Erro na linha 0"));
+    }
+
+    @Test
+    void listsDocumentsWithoutLoadingTranslators() throws Exception {
+        assertQueries(2, get("/api/v1/documents").param("size", "50"))
+                .andExpect(status().isOk());
+        assertQueries(1, get("/api/v1/documents/cursor").param("size", "50"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void fetchesDocumentWithTranslatorInOneQuery() throws Exception {
+        assertQueries(1, get("/api/v1/documents/{id}", document.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.translator.name").value(translatorName))
+                .andExpect(jsonPath("$", not(hasKey("documentImport"))));
+    }
+
+    @Test
+    void updatesDocumentAndReturnsTranslator() throws Exception {
+        mockMvc.perform(put("/api/v1/documents/{id}", document.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"subject\":\"Assunto revisado\",\"content\":\"Novo conteúdo\"," +
+                                "\"location\":\"pt-br\",\"author\":\"Autor\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.subject").value("Assunto revisado"))
+                .andExpect(jsonPath("$.translator.name").value(translatorName));
+    }
+
+    @Test
+    void deletesImportWithBulkStatements() throws Exception {
+        // Confirmação de que a importação em cache ainda existe, bloqueio da importação e um DELETE por tabela:
+        // documentos, erros, importação e partes do arquivo
+        assertQueries(6, delete("/api/v1/documentImport/{id}", documentImport.getId()))
+                .andExpect(status().isNoContent());
+        assertThat(documentRepository.existsById(document.getId())).isFalse();
+        assertThat(importErrorRepository.countByDocumentImportId(documentImport.getId())).isZero();
+    }
+
+    private ResultActions assertQueries(int max, RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request);
+        assertThat(statistics.getPrepareStatementCount()).as("comandos SQL").isLessThanOrEqualTo(max);
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bureauworks.translator_document_management.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingLanguageDetectorTests {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private final CountingDetector delegate = new CountingDetector();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private CachingLanguageDetector cachingLanguageDetector;
+
+    @BeforeEach
+    void createDetector() {
+        cachingLanguageDetector = new CachingLanguageDetector(delegate, meterRegistry, 100, TTL, nanos::get);
+    }
+
+    @Test
+    void callsDelegateOncePerDistinctNormalizedText() {
+        assertThat(cachingLanguageDetector.detectLanguage("Bom dia")).isEqualTo("pt-br");
+        assertThat(cachingLanguageDetector.detectLanguage("  bom   DIA ")).isEqualTo("pt-br");
+        assertThat(cachingLanguageDetector.detectLanguages(List.of("Bom dia", "Good morning", "Good morning")))
+                .containsExactly("pt-br", "en-us", "en-us");
+        assertThat(cachingLanguageDetector.detectLanguage("Good morning")).isEqualTo("en-us");
+
+        assertThat(delegate.calls).containsExactly("Bom dia", "Good morning");
+        assertThat(gets("hit")).isEqualTo(3);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheUnidentifiedLanguages() {
+        assertThat(cachingLanguageDetector.detectLanguage("???")).isEmpty();
+        assertThat(cachingLanguageDetector.detectLanguages(List.of("???"))).containsExactly("");
+
+        assertThat(delegate.calls).containsExactly("???", "???");
+    }
+
+    @Test
+    void detectsAgainAfterTheTtl() {
+        cachingLanguageDetector.detectLanguage("Bom dia");
+        nanos.addAndGet(TTL.minusSeconds(1).toNanos());
+        cachingLanguageDetector.detectLanguage("Bom dia");
+        assertThat(delegate.calls).containsExactly("Bom dia");
+
+        nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cachingLanguageDetector.detectLanguage("Bom dia")).isEqualTo("pt-br");
+
+        assertThat(delegate.calls).containsExactly("Bom dia", "Bom dia");
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(2);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "languageDetection")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    /**
+     * Detector fixo que registra cada trecho recebido.
+     */
+    private static class CountingDetector implements LanguageDetector {
+
+        private static final Map<String, String> LANGUAGES = Map.of("Bom dia", "pt-br", "Good morning", "en-us");
+
+        private final List<String> calls = new ArrayList<>();
+
+        @Override
+        public String detectLanguage(String content) {
+            calls.add(content);
+            return LANGUAGES.getOrDefault(content, "");
+        }
+    }
+}
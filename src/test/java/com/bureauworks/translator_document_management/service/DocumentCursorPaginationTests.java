@@ -0,0 +1,78 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.dto.CursorPage;
+import com.bureauworks.translator_document_management.dto.DocumentSummary;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+class DocumentCursorPaginationTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void walksEveryDocumentOnceEvenWhenCreatedAtTies() {
+        Translator translator = translatorRepository.save(
+                new Translator("Cursor", "cursor@example.com", "pt-br", "en-us", null));
+        // Datas no futuro para que estes documentos fiquem no início da listagem; metade com o mesmo created_at
+        LocalDateTime tied = LocalDateTime.now().plusYears(1);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 25; i++) {
+                LocalDateTime createdAt = i % 2 == 0 ? tied : tied.plusSeconds(i);
+                jdbcTemplate.update("INSERT INTO document (id, subject, content, location, author, translator_id, " +
+                                "created_at) VALUES (nextval('document_seq'), ?, 'conteúdo', 'pt-br', 'Autor', ?, ?)",
+                        "Cursor " + i, translator.getId(), Timestamp.valueOf(createdAt));
+            }
+        });
+
+        List<DocumentSummary> seen = new ArrayList<>();
+        CursorPage<DocumentSummary> page = documentService.findAllByCursor(null, 10);
+        seen.addAll(page.content());
+        while (page.hasNext() && seen.size() < 25) {
+            page = documentService.findAllByCursor(page.nextCursor(), 10);
+            seen.addAll(page.content());
+        }
+
+        List<DocumentSummary> cursorDocuments = seen.stream().filter(d -> d.subject().startsWith("Cursor ")).toList();
+        assertThat(cursorDocuments).hasSize(25);
+        assertThat(cursorDocuments).extracting(DocumentSummary::id).doesNotHaveDuplicates();
+        for (int i = 1; i < cursorDocuments.size(); i++) {
+            DocumentSummary previous = cursorDocuments.get(i - 1);
+            DocumentSummary current = cursorDocuments.get(i);
+            assertThat(previous.createdAt()).isAfterOrEqualTo(current.createdAt());
+            if (previous.createdAt().equals(current.createdAt())) {
+                assertThat(previous.id()).isGreaterThan(current.id());
+            }
+        }
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThatThrownBy(() -> documentService.findAllByCursor("não-é-um-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+class DocumentFullTextSearchTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    private Document inSubject;
+    private Document inContent;
+    private Document english;
+
+    @BeforeEach
+    void createDocuments() {
+        Translator translator = translatorRepository.findByEmail("fulltext@example.com");
+        if (translator == null) {
+            translator = translatorRepository.save(
+                    new Translator("Fulltext", "fulltext@example.com", "pt-br", "en-us", null));
+        }
+        inSubject = documentRepository.save(new Document("Revisão de contratos de locação",
+                "Texto sem relação com o tema.", "pt-br", "Ana", translator));
+        inContent = documentRepository.save(new Document("Relatório anual",
+                "O contrato de locação foi renovado por mais dois anos.", "pt-br", "Bruno", translator));
+        english = documentRepository.save(new Document("Lease agreements",
+                "Both contracts were signed yesterday.", "en-us", "Carol", translator));
+    }
+
+    @Test
+    void stemsByDocumentLanguageAndRanksSubjectAboveContent() {
+        List<DocumentSearchHit> hits = search("contratos locação", "pt-br");
+
+        assertThat(hits).extracting(DocumentSearchHit::getId)
+                .containsSubsequence(inSubject.getId(), inContent.getId())
+                .doesNotContain(english.getId());
+        DocumentSearchHit contentHit = hits.stream()
+                .filter(hit -> hit.getId().equals(inContent.getId())).findFirst().orElseThrow();
+        assertThat(contentHit.getHighlight()).contains("<b>contrato</b>");
+    }
+
+    @Test
+    void searchesEveryLanguageWhenNoLocationIsGiven() {
+        assertThat(search("contract", null)).extracting(DocumentSearchHit::getId).contains(english.getId());
+        assertThat(search("contrato", null)).extracting(DocumentSearchHit::getId)
+                .contains(inSubject.getId(), inContent.getId());
+    }
+
+    private List<DocumentSearchHit> search(String text, String location) {
+        Slice<DocumentSearchHit> hits = documentService.searchDocumentsFullText(text, location, false,
+                PageRequest.of(0, 50));
+        return hits.getContent();
+    }
+}
@@ -0,0 +1,185 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Divisão da importação em blocos de {@code import.chunk-size} linhas gravados em paralelo pelos workers, com a
+ * numeração das linhas dos erros, a resolução dos tradutores por bloco e os lotes JDBC da gravação.
+ */
+@SpringBootTest(properties = {"import.chunk-size=3", "import.queue.poll-interval-ms=100",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"})
+@DirtiesContext
+class DocumentImportChunkingTests extends PostgresIntegrationTest {
+
+    private static final String HEADER = "subject;content;location;author;translator_email\n";
+
+    @Autowired
+    private DocumentImportService documentImportService;
+
+    @Autowired
+    private DocumentImportWriter documentImportWriter;
+
+    @SpyBean
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String first;
+
+    private String second;
+
+    private Translator translator;
+
+    @BeforeEach
+    void createTranslators() {
+        String run = UUID.randomUUID().toString();
+        first = "first-" + run + "@example.com";
+        second = "second-" + run + "@example.com";
+        translator = translatorRepository.save(new Translator("Primeiro " + run, first, "pt-br", "en-us", null));
+        translatorRepository.save(new Translator("Segundo " + run, second, "pt-br", "en-us", null));
+        clearInvocations(translatorRepository);
+    }
+
+    @Test
+    void reportsRowErrorsWithTheirLineInTheFile() {
+        String csv = HEADER
+                + "Assunto 2;Conteúdo 2;pt-br;Autor;" + first + "\n"
+                + ";Conteúdo 3;pt-br;Autor;" + first + "\n"
+                + "Assunto 4;Conteúdo 4;pt-br;Autor;" + second + "\n"
+                + "Assunto 5;Conteúdo 5;pt-br;Autor;" + second + "\n"
+                + "Assunto 6;Conteúdo 6;pt-br;Autor;nobody@example.com\n"
+                + "Assunto 7;Conteúdo 7;pt-br;Autor;" + first + "\n"
+                + "Assunto 8;;pt-br;Autor;" + first + "\n"
+                + "Assunto 9;Conteúdo 9;pt-br;Autor;" + second + "\n"
+                + "Assunto 10;Conteúdo 10;pt-br;Autor;" + first + "\n"
+                + "Assunto 11;Conteúdo 11;pt-br;Autor;nobody@example.com\n";
+
+        DocumentImport documentImport = runImport(csv);
+
+        // Os quatro blocos são gravados em paralelo, mas cada erro mantém a linha do arquivo
+        assertThat(importErrorRepository.findAllByDocumentImportId(documentImport.getId()))
+                .extracting(ImportError::getMessage)
+                .containsExactlyInAnyOrder(
+                        "Linha 3: Campos obrigatórios estão faltando.",
+                        "Linha 6: Tradutor não encontrado para o email: nobody@example.com",
+                        "Linha 8: Campos obrigatórios estão faltando.",
+                        "Linha 11: Tradutor não encontrado para o email: nobody@example.com");
+        assertThat(documentImport.getStatus()).isEqualTo(ImportStatus.COMPLETED_WITH_ERRORS);
+        assertThat(documentImport.getRowsRead()).isEqualTo(10);
+        assertThat(documentImport.getRowsPersisted()).isEqualTo(6);
+        assertThat(documentImport.getErrorCount()).isEqualTo(4);
+    }
+
+    @Test
+    void plansBoundedChunksAndResolvesTranslatorsOncePerChunk() {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int row = 1; row <= 7; row++) {
+            csv.append("Assunto ").append(row).append(";Conteúdo ").append(row).append(";pt-br;Autor;")
+                    .append(row % 2 == 0 ? first : second).append('\n');
+        }
+
+        DocumentImport documentImport = runImport(csv.toString());
+
+        assertThat(documentImport.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+        assertThat(documentRepository.countByDocumentImportId(documentImport.getId())).isEqualTo(7);
+        assertThat(importChunkRepository.findAllByDocumentImportIdOrderByChunkIndex(documentImport.getId()))
+                .extracting(ImportChunk::getChunkIndex, ImportChunk::getFirstRowNum, ImportChunk::getRowCount)
+                .containsExactly(tuple(0, 2, 3), tuple(1, 5, 3), tuple(2, 8, 1));
+
+        // Uma consulta IN por bloco com os e-mails distintos do bloco, nunca uma por linha
+        verify(translatorRepository, times(2)).findAllByEmailIn(Set.of(first, second));
+        verify(translatorRepository, times(1)).findAllByEmailIn(Set.of(second));
+        verify(translatorRepository, never()).findByEmail(anyString());
+        verify(translatorRepository, times(3)).findAllByEmailIn(any());
+    }
+
+    @Test
+    void flushesAndClearsThePersistenceContextEveryBatchSizeEntities() {
+        // Fora da fila: grava o bloco diretamente pelo writer
+        DocumentImport documentImport = new DocumentImport("batch.csv", "Importação concluída", ImportMode.JPA);
+        documentImport.setStatus(ImportStatus.COMPLETED);
+        documentImportRepository.save(documentImport);
+        List<Document> documents = new ArrayList<>();
+        for (int row = 1; row <= 120; row++) {
+            documents.add(new Document("Assunto " + row, "Conteúdo " + row, "pt-br", "Autor", translator,
+                    documentImport));
+        }
+        List<ImportError> importErrors = new ArrayList<>();
+        for (int row = 1; row <= 5; row++) {
+            importErrors.add(new ImportError("Linha " + row + ": erro", documentImport));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        documentImportWriter.write(documents, importErrors);
+
+        // 125 entidades com lotes de 50: descargas após 50 e 100 entidades e ao final do bloco
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(125);
+        assertThat(statistics.getFlushCount()).isEqualTo(3);
+        // Um comando preparado por lote, e não por linha (mais as sequences e as consultas da fila)
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(25);
+        assertThat(documentRepository.countByDocumentImportId(documentImport.getId())).isEqualTo(120);
+        assertThat(importErrorRepository.countByDocumentImportId(documentImport.getId())).isEqualTo(5);
+    }
+
+    private DocumentImport runImport(String csv) {
+        MockMultipartFile file = new MockMultipartFile("file", "chunks.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        Long id = documentImportService.submitImport(file, ImportMode.JPA, "default").getId();
+        return await().atMost(Duration.ofSeconds(30))
+                .until(() -> documentImportRepository.findById(id).orElseThrow(),
+                        documentImport -> documentImport.getStatus().isFinished());
+    }
+}
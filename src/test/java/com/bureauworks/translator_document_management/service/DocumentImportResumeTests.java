@@ -0,0 +1,139 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportChunkStatus;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = "import.queue.poll-interval-ms=100")
+@DirtiesContext
+class DocumentImportResumeTests extends PostgresIntegrationTest {
+
+    private static final String HEADER = "subject;content;location;author;translator_email\n";
+    private static final List<String> LINES = List.of(
+            "Retomada 1;Conteúdo 1;pt-br;Autor;resume@example.com\n",
+            "Retomada 2;Conteúdo 2;pt-br;Autor;resume@example.com\n",
+            "Retomada 3;Conteúdo 3;pt-br;Autor;resume@example.com\n",
+            "Retomada 4;Conteúdo 4;pt-br;Autor;resume@example.com\n",
+            "Retomada 5;Conteúdo 5;pt-br;Autor;resume@example.com\n",
+            "Retomada 6;Conteúdo 6;pt-br;Autor;nobody@example.com\n");
+
+    @Autowired
+    private ImportSpool importSpool;
+
+    @Autowired
+    private ImportChunkLedger importChunkLedger;
+
+    @Autowired
+    private DocumentImportWriter documentImportWriter;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void resumesFromTheLastCommittedChunkWithoutDuplicatingDocuments() {
+        Translator translator = translatorRepository.save(
+                new Translator("Resume", "resume@example.com", "pt-br", "en-us", null));
+
+        // Estado deixado por um nó que caiu durante o planejamento, depois de os dois primeiros blocos serem gravados
+        DocumentImport documentImport = new DocumentImport("resume.csv", "Importação em andamento", ImportMode.JPA);
+        documentImport.setChunkSize(2);
+        documentImport.setStatus(ImportStatus.RUNNING);
+        documentImport.setLockedBy("crashed-node");
+        documentImport.setLockedUntil(LocalDateTime.now().plusHours(1));
+        documentImportRepository.save(documentImport);
+        importSpool.store(documentImport.getId(), new MockMultipartFile("file", "resume.csv", "text/csv",
+                (HEADER + String.join("", LINES)).getBytes(StandardCharsets.UTF_8)));
+        commitChunk(documentImport, translator, 0);
+        commitChunk(documentImport, translator, 1);
+
+        // Com a reserva do nó expirada, o worker da fila retoma o planejamento e grava o bloco restante
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE document_imports SET locked_until = now() - INTERVAL '1 minute' WHERE id = ?",
+                documentImport.getId()));
+        DocumentImport resumed = await().atMost(Duration.ofSeconds(30))
+                .until(() -> documentImportRepository.findById(documentImport.getId()).orElseThrow(),
+                        current -> current.getStatus().isFinished());
+
+        assertThat(resumed.getStatus()).isEqualTo(ImportStatus.COMPLETED_WITH_ERRORS);
+        assertThat(resumed.getRowsRead()).isEqualTo(6);
+        assertThat(resumed.getRowsPersisted()).isEqualTo(5);
+        assertThat(resumed.getErrorCount()).isEqualTo(1);
+        assertThat(importErrorRepository.findAllByDocumentImportId(documentImport.getId()))
+                .extracting(ImportError::getMessage)
+                .containsExactly("Linha 7: Tradutor não encontrado para o email: nobody@example.com");
+        assertThat(documentRepository.findAll().stream()
+                .filter(document -> document.getDocumentImport() != null
+                        && document.getDocumentImport().getId().equals(documentImport.getId()))
+                .map(Document::getSubject))
+                .containsExactlyInAnyOrder("Retomada 1", "Retomada 2", "Retomada 3", "Retomada 4", "Retomada 5");
+        assertThat(importChunkRepository.findAllByDocumentImportIdOrderByChunkIndex(documentImport.getId()))
+                .extracting(ImportChunk::getChunkIndex, ImportChunk::getStatus)
+                .containsExactly(tuple(0, ImportChunkStatus.DONE), tuple(1, ImportChunkStatus.DONE),
+                        tuple(2, ImportChunkStatus.DONE));
+        assertThat(importSpool.exists(documentImport.getId())).isFalse();
+
+        // Gravar novamente um bloco já registrado não tem efeito
+        assertThat(commitChunk(documentImport, translator, 1)).isFalse();
+        assertThat(documentRepository.countByDocumentImportId(documentImport.getId())).isEqualTo(5);
+    }
+
+    private boolean commitChunk(DocumentImport documentImport, Translator translator, int chunkIndex) {
+        int first = chunkIndex * 2;
+        long offset = LINES.subList(0, first).stream().mapToLong(String::length).sum();
+        importChunkRepository.insertIfAbsent(documentImport.getId(), chunkIndex, offset, first + 1L, first + 2, 2,
+                String.join("", LINES.subList(first, first + 2)));
+        ImportChunk chunk = importChunkRepository.findAllByDocumentImportIdOrderByChunkIndex(documentImport.getId())
+                .get(chunkIndex);
+        List<Document> documents = List.of(
+                new Document("Retomada " + (first + 1), "Conteúdo " + (first + 1), "pt-br", "Autor", translator,
+                        documentImport),
+                new Document("Retomada " + (first + 2), "Conteúdo " + (first + 2), "pt-br", "Autor", translator,
+                        documentImport));
+        return importChunkLedger.commit(chunk, documentImportWriter, documents, List.of());
+    }
+}
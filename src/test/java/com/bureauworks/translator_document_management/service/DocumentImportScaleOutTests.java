@@ -0,0 +1,93 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.TranslatorDocumentManagementApplication;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportChunkStatus;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Nós da aplicação que compartilham apenas o banco: o upload é recebido por um nó sem workers e a importação é
+ * planejada e gravada pelos outros dois, sem acesso ao sistema de arquivos de quem recebeu o arquivo. Os blocos
+ * devem ser divididos entre os workers, sem duplicar documentos, e a importação finalizada uma única vez.
+ */
+class DocumentImportScaleOutTests extends PostgresIntegrationTest {
+
+    private static final int ROWS = 120;
+
+    @Test
+    void chunksOfOneImportAreProcessedByBothWorkerNodes() {
+        try (ConfigurableApplicationContext apiNode = startNode("api", "--import.queue.enabled=false");
+             ConfigurableApplicationContext nodeA = startNode("node-a");
+             ConfigurableApplicationContext nodeB = startNode("node-b")) {
+
+            apiNode.getBean(TranslatorRepository.class)
+                    .save(new Translator("Scale", "scale-out@example.com", "pt-br", "en-us", null));
+
+            Long id = apiNode.getBean(DocumentImportService.class)
+                    .submitImport(csvFile(), ImportMode.JPA, "default")
+                    .getId();
+
+            DocumentImportService documentImportService = nodeB.getBean(DocumentImportService.class);
+            DocumentImport finished = await().atMost(Duration.ofSeconds(60))
+                    .until(() -> documentImportService.findById(id),
+                            documentImport -> documentImport.getStatus().isFinished());
+
+            assertThat(finished.getStatus()).isEqualTo(ImportStatus.COMPLETED);
+            assertThat(finished.getRowsRead()).isEqualTo(ROWS);
+            assertThat(finished.getRowsPersisted()).isEqualTo(ROWS);
+            assertThat(nodeB.getBean(DocumentRepository.class).countByDocumentImportId(id)).isEqualTo(ROWS);
+
+            List<ImportChunk> chunks = nodeB.getBean(ImportChunkRepository.class)
+                    .findAllByDocumentImportIdOrderByChunkIndex(id);
+            assertThat(chunks).hasSize(ROWS / 5).allMatch(chunk -> chunk.getStatus() == ImportChunkStatus.DONE
+                    && chunk.getPayload() == null);
+            assertThat(chunks).extracting(ImportChunk::getLockedBy).contains("node-a", "node-b")
+                    .doesNotContain("api");
+            assertThat(apiNode.getBean(ImportSpool.class).exists(id)).isFalse();
+        }
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId, String... extraArguments) {
+        String[] arguments = Stream.of(Stream.of(datasourceArguments()), Stream.of(
+                "--import.queue.node-id=" + nodeId,
+                "--import.chunk-size=5",
+                "--import.workers=1",
+                "--import.queue.poll-interval-ms=50",
+                "--spring.jpa.show-sql=false"), Stream.of(extraArguments))
+                .flatMap(argument -> argument)
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TranslatorDocumentManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(arguments);
+    }
+
+    private MockMultipartFile csvFile() {
+        StringBuilder csv = new StringBuilder("subject;content;location;author;translator_email\n");
+        for (int i = 1; i <= ROWS; i++) {
+            csv.append("Assunto ").append(i).append(";Conteúdo ").append(i)
+                    .append(";pt-br;Autor;scale-out@example.com\n");
+        }
+        return new MockMultipartFile("file", "scale-out.csv", "text/csv",
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Fecha o contexto ao final para que o worker da fila não concorra com os outros testes
+@SpringBootTest(properties = {"import.chunk-size=2", "import.queue.poll-interval-ms=100"})
+@DirtiesContext
+class DocumentImportServiceBulkModeTests extends PostgresIntegrationTest {
+
+    private static final String CSV = """
+            subject;content;location;author;translator_email
+            Assunto 1;Conteúdo 1;pt-br;Autor;bulk@example.com
+            ;Conteúdo 2;pt-br;Autor;bulk@example.com
+            Assunto 3;Conteúdo 3;en-us;Autor;nobody@example.com
+            ;;;;
+            Assunto 4;"Conteúdo; com ""aspas""\";en-us;Autor;bulk@example.com
+            """;
+
+    @Autowired
+    private DocumentImportService documentImportService;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Test
+    void bulkModeReportsTheSameRowErrorsAsJpaMode() {
+        translatorRepository.save(new Translator("Bulk", "bulk@example.com", "pt-br", "en-us", null));
+
+        DocumentImport jpaImport = runImport(ImportMode.JPA);
+        DocumentImport bulkImport = runImport(ImportMode.BULK);
+
+        assertThat(errorMessages(bulkImport))
+                .containsExactlyInAnyOrder(
+                        "Linha 3: Campos obrigatórios estão faltando.",
+                        "Linha 4: Tradutor não encontrado para o email: nobody@example.com")
+                .containsExactlyInAnyOrderElementsOf(errorMessages(jpaImport));
+        assertThat(bulkImport.getStatus()).isEqualTo(ImportStatus.COMPLETED_WITH_ERRORS);
+        assertThat(bulkImport.getMessage()).isEqualTo(jpaImport.getMessage());
+        assertThat(bulkImport.getRowsRead()).isEqualTo(4);
+        assertThat(bulkImport.getRowsPersisted()).isEqualTo(2);
+        assertThat(bulkImport.getErrorCount()).isEqualTo(2);
+
+        assertThat(documentRepository.countByDocumentImportId(bulkImport.getId())).isEqualTo(2);
+        assertThat(importErrorRepository.countByDocumentImportId(bulkImport.getId())).isEqualTo(2);
+
+        List<String> bulkContents = documentRepository.findAll().stream()
+                .filter(document -> document.getDocumentImport() != null
+                        && document.getDocumentImport().getId().equals(bulkImport.getId()))
+                .map(Document::getContent)
+                .toList();
+        assertThat(bulkContents).containsExactlyInAnyOrder("Conteúdo 1", "Conteúdo; com \"aspas\"");
+
+        // Ids reservados pelo COPY não podem colidir com os gerados depois pelo Hibernate
+        DocumentImport nextImport = runImport(ImportMode.JPA);
+        assertThat(documentRepository.countByDocumentImportId(nextImport.getId())).isEqualTo(2);
+    }
+
+    private DocumentImport runImport(ImportMode mode) {
+        Long id = documentImportService.submitImport(csvFile(), mode, "default").getId();
+        return await().atMost(Duration.ofSeconds(30))
+                .until(() -> documentImportRepository.findById(id).orElseThrow(),
+                        documentImport -> documentImport.getStatus().isFinished());
+    }
+
+    private MockMultipartFile csvFile() {
+        return new MockMultipartFile("file", "documents.csv", "text/csv", CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> errorMessages(DocumentImport documentImport) {
+        return importErrorRepository.findAllByDocumentImportId(documentImport.getId()).stream()
+                .map(ImportError::getMessage)
+                .toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.dto.DocumentSearchHit;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {"import.queue.enabled=false", "search.index.enabled=true",
+        "search.index.refresh-interval-ms=50"})
+class DocumentSearchIndexTests extends PostgresIntegrationTest {
+
+    @TempDir
+    static Path indexDir;
+
+    @DynamicPropertySource
+    static void indexProperties(DynamicPropertyRegistry registry) {
+        registry.add("search.index.dir", indexDir::toString);
+    }
+
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void followsSavesUpdatesAndDeletes() {
+        Translator translator = translator();
+        Document document = documentService.save(new Document("Glossário jurídico", "Termos de arbitragem",
+                "pt-br", "Helena", translator));
+        awaitIds("arbitragem", List.of(document.getId()));
+
+        document.setSubject("Glossário tributário");
+        document.setContent("Termos de impostos");
+        documentService.save(document);
+        awaitIds("impostos", List.of(document.getId()));
+        assertThat(ids("arbitragem")).isEmpty();
+
+        documentService.deleteById(document.getId());
+        awaitIds("impostos", List.of());
+    }
+
+    @Test
+    void rebuildPicksUpRowsWrittenBehindTheIndex() {
+        Translator translator = translator();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO document (id, subject, content, location, author, translator_id, created_at) " +
+                        "VALUES (nextval('document_seq'), 'Manual de bordo', 'Procedimentos de navegação', " +
+                        "'pt-br', 'Iris', ?, now())", translator.getId()));
+        assertThat(ids("navegação")).isEmpty();
+
+        documentService.rebuildSearchIndex();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> ids("navegação").size() == 1);
+        DocumentSearchHit hit = documentService.searchDocumentsIndexed("navegação", PageRequest.of(0, 10))
+                .getContent().get(0);
+        assertThat(hit.getSubject()).isEqualTo("Manual de bordo");
+        assertThat(hit.getTranslatorId()).isEqualTo(translator.getId());
+    }
+
+    private Translator translator() {
+        Translator translator = translatorRepository.findByEmail("index@example.com");
+        return translator != null ? translator : translatorRepository.save(
+                new Translator("Index", "index@example.com", "pt-br", "en-us", null));
+    }
+
+    private void awaitIds(String text, List<Long> expected) {
+        await().atMost(Duration.ofSeconds(5)).until(() -> ids(text).equals(expected));
+    }
+
+    private List<Long> ids(String text) {
+        return documentService.searchDocumentsIndexed(text, PageRequest.of(0, 10)).getContent().stream()
+                .map(DocumentSearchHit::getId)
+                .toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.config.HibernateCacheConfig;
+import com.bureauworks.translator_document_management.entity.Document;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportError;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.DocumentRepository;
+import com.bureauworks.translator_document_management.repository.ImportErrorRepository;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "import.queue.enabled=false")
+@AutoConfigureMockMvc
+class HibernateSecondLevelCacheTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportErrorRepository importErrorRepository;
+
+    @Autowired
+    private DocumentImportService documentImportService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private Translator translator;
+
+    @BeforeEach
+    void createTranslator() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        String run = UUID.randomUUID().toString();
+        translator = translatorRepository.save(
+                new Translator("L2 " + run, "l2-" + run + "@example.com", "pt-br", "en-us", null));
+    }
+
+    @Test
+    void resolvesDocumentTranslatorFromCache() {
+        Document document = documentRepository.save(
+                new Document("Cache", "Conteúdo", "pt-br", "Autor", translator));
+
+        // Inserções com IDENTITY não passam pelo cache; a primeira leitura o preenche
+        translatorRepository.findById(translator.getId());
+        statistics.clear();
+        String name = transactionTemplate.execute(status ->
+                documentRepository.findById(document.getId()).orElseThrow().getTranslator().getName());
+
+        assertThat(name).isEqualTo(translator.getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(HibernateCacheConfig.TRANSLATOR_REGION).getHitCount())
+                .isPositive();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.hit.ratio")
+                .tag("region", HibernateCacheConfig.TRANSLATOR_REGION).gauge().value()).isPositive();
+    }
+
+    @Test
+    void seesUpdatesAndBulkUpdates() {
+        Translator cached = translatorRepository.findById(translator.getId()).orElseThrow();
+        cached.setName("Renomeado " + UUID.randomUUID());
+        translatorRepository.save(cached);
+        assertThat(translatorRepository.findById(translator.getId()).orElseThrow().getName())
+                .isEqualTo(cached.getName());
+
+        DocumentImport documentImport = documentImportRepository.save(
+                new DocumentImport("l2.csv", "Importação em andamento", ImportMode.JPA));
+        assertThat(documentImportRepository.findById(documentImport.getId()).orElseThrow().getRowsPersisted())
+                .isZero();
+        transactionTemplate.executeWithoutResult(status ->
+                documentImportRepository.incrementProgress(documentImport.getId(), 5, 1));
+        assertThat(documentImportRepository.findById(documentImport.getId()).orElseThrow().getRowsPersisted())
+                .isEqualTo(5);
+    }
+
+    @Test
+    void cachesErrorPagesOfFinishedImports() {
+        DocumentImport documentImport = new DocumentImport("l2-errors.csv", "Importação concluída", ImportMode.JPA);
+        documentImport.setStatus(ImportStatus.COMPLETED_WITH_ERRORS);
+        DocumentImport saved = documentImportRepository.save(documentImport);
+        importErrorRepository.saveAll(List.of(new ImportError("Linha 2: erro", saved),
+                new ImportError("Linha 3: erro", saved)));
+
+        assertThat(documentImportService.findErrors(saved, PageRequest.of(0, 10)).getContent()).hasSize(2);
+        statistics.clear();
+        assertThat(documentImportService.findErrors(saved, PageRequest.of(0, 10)).getContent())
+                .extracting(ImportError::getMessage).containsExactly("Linha 2: erro", "Linha 3: erro");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void doesNotServeFinishedImportsDeletedByAnotherNode() throws Exception {
+        DocumentImport documentImport = new DocumentImport("l2-deleted.csv", "Importação concluída", ImportMode.JPA);
+        documentImport.setStatus(ImportStatus.COMPLETED_WITH_ERRORS);
+        DocumentImport saved = documentImportRepository.save(documentImport);
+        importErrorRepository.save(new ImportError("Linha 2: erro", saved));
+
+        mockMvc.perform(get("/api/v1/documentImport/{id}/errors", saved.getId())).andExpect(status().isOk());
+        assertThat(entityManagerFactory.getCache().contains(DocumentImport.class, saved.getId())).isTrue();
+
+        // Outro nó remove a importação; o cache deste nó não é avisado
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM import_error WHERE document_import_id = ?", saved.getId());
+            jdbcTemplate.update("DELETE FROM document_imports WHERE id = ?", saved.getId());
+        });
+
+        mockMvc.perform(get("/api/v1/documentImport/{id}/errors", saved.getId())).andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/documentImport/{id}/documents", saved.getId()))
+                .andExpect(status().isNotFound());
+        assertThat(entityManagerFactory.getCache().contains(DocumentImport.class, saved.getId())).isFalse();
+    }
+}
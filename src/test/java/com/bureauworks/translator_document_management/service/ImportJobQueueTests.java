@@ -0,0 +1,178 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.DocumentImport;
+import com.bureauworks.translator_document_management.entity.ImportChunk;
+import com.bureauworks.translator_document_management.entity.ImportMode;
+import com.bureauworks.translator_document_management.entity.ImportStatus;
+import com.bureauworks.translator_document_management.repository.DocumentImportRepository;
+import com.bureauworks.translator_document_management.repository.ImportChunkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"import.queue.enabled=false", "import.queue.max-running-per-tenant=5"})
+class ImportJobQueueTests extends PostgresIntegrationTest {
+
+    @Autowired
+    private ImportJobQueue importJobQueue;
+
+    @Autowired
+    private DocumentImportRepository documentImportRepository;
+
+    @Autowired
+    private ImportChunkRepository importChunkRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void finishPendingImports() {
+        update("UPDATE document_imports SET status = 'COMPLETED' WHERE status IN ('QUEUED', 'RUNNING')");
+    }
+
+    @Test
+    void claimsSmallFilesFirstAndAlternatesTenants() {
+        DocumentImport large = enqueue("tenant-a", 1);
+        DocumentImport smallA1 = enqueue("tenant-a", 0);
+        DocumentImport smallA2 = enqueue("tenant-a", 0);
+        DocumentImport smallB = enqueue("tenant-b", 0);
+
+        assertThat(importJobQueue.claim()).contains(smallA1.getId());
+        // tenant-a já tem uma importação em andamento, então tenant-b passa à frente
+        assertThat(importJobQueue.claim()).contains(smallB.getId());
+        assertThat(importJobQueue.claim()).contains(smallA2.getId());
+        assertThat(importJobQueue.claim()).contains(large.getId());
+        assertThat(importJobQueue.claim()).isEmpty();
+
+        DocumentImport claimed = documentImportRepository.findById(large.getId()).orElseThrow();
+        assertThat(claimed.getStatus()).isEqualTo(ImportStatus.RUNNING);
+        assertThat(claimed.getLockedBy()).isEqualTo(importJobQueue.getNodeId());
+        assertThat(claimed.getLockedUntil()).isNotNull();
+    }
+
+    @Test
+    void expiredLeaseMakesTheImportClaimableAgainAndReleaseRequeuesIt() {
+        DocumentImport documentImport = enqueue("tenant-c", 0);
+        assertThat(importJobQueue.claim()).contains(documentImport.getId());
+        assertThat(importJobQueue.claim()).isEmpty();
+
+        update("UPDATE document_imports SET locked_until = now() - INTERVAL '1 second' WHERE id = ?",
+                documentImport.getId());
+        assertThat(importJobQueue.claim()).contains(documentImport.getId());
+
+        importJobQueue.release(documentImport.getId());
+        assertThat(documentImportRepository.findById(documentImport.getId()).orElseThrow().getStatus())
+                .isEqualTo(ImportStatus.QUEUED);
+    }
+
+    @Test
+    void plannedImportsKeepCountingAgainstTheirTenant() {
+        for (int i = 0; i < 5; i++) {
+            DocumentImport planned = enqueue("tenant-f", 0);
+            // Planejada e sem dono: os blocos ainda estão sendo gravados
+            update("UPDATE document_imports SET status = 'RUNNING', planned = true WHERE id = ?", planned.getId());
+        }
+        DocumentImport waiting = enqueue("tenant-f", 0);
+        DocumentImport other = enqueue("tenant-g", 1);
+
+        assertThat(importJobQueue.claim()).contains(other.getId());
+        assertThat(importJobQueue.claim()).isEmpty();
+
+        update("UPDATE document_imports SET status = 'COMPLETED' WHERE tenant = 'tenant-f' AND planned");
+        assertThat(importJobQueue.claim()).contains(waiting.getId());
+    }
+
+    @Test
+    void alternatesTenantsWhenClaimingChunksAndCapsEachTenant() {
+        List<Long> large = plannedChunks(enqueue("tenant-h", 0), 7);
+        List<Long> small = plannedChunks(enqueue("tenant-i", 0), 1);
+
+        assertThat(importJobQueue.claimChunk()).contains(large.get(0));
+        // tenant-h já grava um bloco, então o bloco de tenant-i passa à frente
+        assertThat(importJobQueue.claimChunk()).contains(small.get(0));
+        for (int i = 1; i < 5; i++) {
+            assertThat(importJobQueue.claimChunk()).contains(large.get(i));
+        }
+        // Cinco blocos de tenant-h em gravação: o limite do tenant foi atingido
+        assertThat(importJobQueue.claimChunk()).isEmpty();
+
+        importJobQueue.releaseChunk(large.get(0), false);
+        assertThat(importJobQueue.claimChunk()).contains(large.get(0));
+    }
+
+    @Test
+    void lockedRowsAreSkippedByConcurrentClaims() throws Exception {
+        DocumentImport first = enqueue("tenant-d", 0);
+        DocumentImport second = enqueue("tenant-e", 0);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Mantém a primeira importação bloqueada em outra transação, como faria outro nó
+            Future<?> otherNode = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForObject("SELECT id FROM document_imports WHERE id = ? FOR UPDATE",
+                        Long.class, first.getId());
+                locked.countDown();
+                awaitQuietly(release);
+            }));
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            Optional<Long> claimed = importJobQueue.claim();
+            release.countDown();
+            otherNode.get(10, TimeUnit.SECONDS);
+
+            assertThat(claimed).contains(second.getId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private DocumentImport enqueue(String tenant, int priority) {
+        DocumentImport documentImport = new DocumentImport(tenant + ".csv", "Importação na fila", ImportMode.JPA);
+        documentImport.setTenant(tenant);
+        documentImport.setPriority(priority);
+        return documentImportRepository.save(documentImport);
+    }
+
+    private List<Long> plannedChunks(DocumentImport documentImport, int count) {
+        update("UPDATE document_imports SET status = 'RUNNING', planned = true WHERE id = ?", documentImport.getId());
+        for (int i = 0; i < count; i++) {
+            importChunkRepository.insertIfAbsent(documentImport.getId(), i, i, i, i + 2, 1, "linha " + i);
+        }
+        return importChunkRepository.findAllByDocumentImportIdOrderByChunkIndex(documentImport.getId()).stream()
+                .map(ImportChunk::getId)
+                .toList();
+    }
+
+    // O pool usa auto-commit desligado, então as alterações precisam de uma transação
+    private void update(String sql, Object... args) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql, args));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
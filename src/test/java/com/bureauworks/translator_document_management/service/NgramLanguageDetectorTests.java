@@ -0,0 +1,24 @@
+package com.bureauworks.translator_document_management.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NgramLanguageDetectorTests {
+
+    private final NgramLanguageDetector detector = new NgramLanguageDetector(0.9);
+
+    @Test
+    void detectsLanguageOfShortSnippetsInLanguageCountryFormat() {
+        assertThat(detector.detectLanguage("O tradutor revisou o contrato de locação")).isEqualTo("pt-br");
+        assertThat(detector.detectLanguage("The translator reviewed the lease agreement")).isEqualTo("en-us");
+        assertThat(detector.detectLanguage("El traductor revisó el contrato de alquiler")).isEqualTo("es-es");
+        assertThat(detector.detectLanguage("Der Übersetzer hat den Mietvertrag geprüft")).isEqualTo("de-de");
+    }
+
+    @Test
+    void returnsEmptyCodeWhenConfidenceIsLow() {
+        assertThat(detector.detectLanguage("12345 67890")).isEmpty();
+        assertThat(detector.detectLanguage("   ")).isEmpty();
+    }
+}
@@ -0,0 +1,144 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.config.OpenAIClientConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = {OpenAIClientConfig.class, OpenAIService.class})
+@ImportAutoConfiguration(RestTemplateAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "openai.api.key=test-key",
+        "openai.batch-size=2",
+        "openai.http.read-timeout=2s",
+        "openai.http.retry-backoff=10ms"
+})
+class OpenAIServiceTests {
+
+    private static final Map<String, String> LANGUAGES = Map.of(
+            "Bom dia", "pt-br",
+            "Good morning", "en-us",
+            "Buenos días", "es-es");
+
+    private static final List<JSONObject> requests = new CopyOnWriteArrayList<>();
+
+    private static final AtomicInteger failuresToSimulate = new AtomicInteger();
+
+    private static HttpServer server;
+
+    @Autowired
+    private OpenAIService openAIService;
+
+    @BeforeAll
+    static void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/chat/completions", OpenAIServiceTests::handleCompletion);
+        server.start();
+    }
+
+    @AfterAll
+    static void stopStubServer() {
+        server.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void openAIProperties(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.url",
+                () -> "http://localhost:" + server.getAddress().getPort() + "/v1/chat/completions");
+    }
+
+    @BeforeEach
+    void resetStub() {
+        requests.clear();
+        failuresToSimulate.set(0);
+    }
+
+    @Test
+    void detectLanguagesPacksSnippetsIntoBatchedRequests() {
+        List<String> languageCodes = openAIService.detectLanguages(List.of("Bom dia", "Good morning", "Buenos días"));
+
+        assertThat(languageCodes).containsExactly("pt-br", "en-us", "es-es");
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void detectLanguagesReturnsEmptyCodeForUnrecognizedItems() {
+        List<String> languageCodes = openAIService.detectLanguages(List.of("Bom dia", "???"));
+
+        assertThat(languageCodes).containsExactly("pt-br", "");
+    }
+
+    @Test
+    void detectLanguageKeepsSingleSnippetContract() {
+        assertThat(openAIService.detectLanguage("Good morning")).isEqualTo("en-us");
+        assertThat(requests.get(0).getString("model")).isEqualTo("gpt-4");
+    }
+
+    @Test
+    void retriesRateLimitedRequestsOnTheSharedClient() {
+        failuresToSimulate.set(2);
+
+        assertThat(openAIService.detectLanguage("Bom dia")).isEqualTo("pt-br");
+        assertThat(requests).hasSize(3);
+    }
+
+    private static void handleCompletion(HttpExchange exchange) throws IOException {
+        if (failuresToSimulate.getAndDecrement() > 0) {
+            exchange.getRequestBody().readAllBytes();
+            requests.add(new JSONObject());
+            exchange.sendResponseHeaders(429, -1);
+            exchange.close();
+            return;
+        }
+
+        JSONObject request = new JSONObject(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        requests.add(request);
+
+        String prompt = request.getJSONArray("messages").getJSONObject(1).getString("content");
+        String answer;
+        if (prompt.contains("[")) {
+            JSONArray items = new JSONArray(prompt.substring(prompt.indexOf('[')));
+            JSONArray codes = new JSONArray();
+            for (int i = 0; i < items.length(); i++) {
+                codes.put(LANGUAGES.getOrDefault(items.getString(i), "unknown"));
+            }
+            answer = codes.toString();
+        } else {
+            answer = LANGUAGES.get(prompt.substring(prompt.lastIndexOf(": ") + 2));
+        }
+
+        JSONObject message = new JSONObject().put("role", "assistant").put("content", answer);
+        JSONObject response = new JSONObject()
+                .put("choices", new JSONArray().put(new JSONObject().put("message", message)));
+        byte[] body = response.toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bureauworks.translator_document_management.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TieredLanguageDetectorTests {
+
+    @Mock
+    private NgramLanguageDetector ngramLanguageDetector;
+
+    @Mock
+    private OpenAIService openAIService;
+
+    @InjectMocks
+    private TieredLanguageDetector tieredLanguageDetector;
+
+    @Test
+    void usesLocalDetectorWhenConfident() {
+        when(ngramLanguageDetector.detectLanguage("Bom dia")).thenReturn("pt-br");
+
+        assertThat(tieredLanguageDetector.detectLanguage("Bom dia")).isEqualTo("pt-br");
+        verifyNoInteractions(openAIService);
+    }
+
+    @Test
+    void sendsOnlyUnresolvedSnippetsToOpenAI() {
+        when(ngramLanguageDetector.detectLanguages(List.of("Bom dia", "ok", "Good morning")))
+                .thenReturn(List.of("pt-br", "", "en-us"));
+        when(openAIService.detectLanguages(List.of("ok"))).thenReturn(List.of("en-gb"));
+
+        assertThat(tieredLanguageDetector.detectLanguages(List.of("Bom dia", "ok", "Good morning")))
+                .containsExactly("pt-br", "en-gb", "en-us");
+        verify(openAIService).detectLanguages(List.of("ok"));
+    }
+}
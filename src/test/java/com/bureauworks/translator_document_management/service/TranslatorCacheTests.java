@@ -0,0 +1,204 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.config.CacheConfig;
+import com.bureauworks.translator_document_management.config.TwoLevelCache;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.exception.EmailAlreadyExistsException;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Cache de tradutores com o L2 em um Redis real, configurado pelo {@code l2CacheManager} da aplicação.
+ */
+@SpringBootTest(properties = {"import.queue.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cache.translators.l2.enabled=true",
+        "cache.translators.l2.ttl=30m"})
+class TranslatorCacheTests extends PostgresIntegrationTest {
+
+    private static final Duration L2_TTL = Duration.ofMinutes(30);
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private TranslatorService translatorService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Translator translator;
+
+    @BeforeEach
+    void createTranslator() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        translator = translatorService.save(newTranslator("cache"));
+    }
+
+    @Test
+    void readsThroughBothLevels() {
+        statistics.clear();
+        assertThat(translatorService.findById(translator.getId()).getName()).isEqualTo(translator.getName());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Outro nó: L1 vazio, L2 compartilhado
+        l1(CacheConfig.TRANSLATORS).clear();
+        assertThat(translatorService.findById(translator.getId()).getEmail()).isEqualTo(translator.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(l1(CacheConfig.TRANSLATORS).get(translator.getId())).isNotNull();
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.TRANSLATORS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.get("cache.l2.gets").tag("cache", CacheConfig.TRANSLATORS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void storesTranslatorsInRedisAsJsonWithPrefixAndTtl() throws Exception {
+        String key = "translator-document-management:" + CacheConfig.TRANSLATORS + "::" + translator.getId();
+
+        JsonNode json = objectMapper.readTree(redisTemplate.opsForValue().get(key));
+        assertThat(json.get("id").asLong()).isEqualTo(translator.getId());
+        assertThat(json.get("email").asText()).isEqualTo(translator.getEmail());
+        assertThat(json.get("version").asLong()).isEqualTo(translator.getVersion());
+        assertThat(redisTemplate.hasKey("translator-document-management:" + CacheConfig.TRANSLATORS_BY_EMAIL + "::"
+                + translator.getEmail())).isTrue();
+
+        long ttl = redisTemplate.getExpire(key, TimeUnit.SECONDS);
+        assertThat(ttl).isPositive().isLessThanOrEqualTo(L2_TTL.toSeconds());
+    }
+
+    @Test
+    void keepsVersionWhenReadingFromRedis() {
+        Translator updated = translatorService.update(translator, newTranslator("version"), null);
+        assertThat(updated.getVersion()).isEqualTo(translator.getVersion() + 1);
+
+        // A versão não tem setter; o Jackson a preenche pelo campo, e a ETag e o If-Match dependem dela
+        l1(CacheConfig.TRANSLATORS).clear();
+        statistics.clear();
+        Translator fromRedis = translatorService.findById(translator.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(fromRedis.getVersion()).isEqualTo(updated.getVersion());
+        assertThat(fromRedis.getCreatedAt()).isEqualTo(updated.getCreatedAt());
+
+        Translator changes = newTranslator("if-match");
+        assertThat(translatorService.update(fromRedis, changes, "\"" + fromRedis.getVersion() + "\"").getName())
+                .isEqualTo(changes.getName());
+    }
+
+    @Test
+    void validatesEmailFromCache() {
+        statistics.clear();
+        assertThatThrownBy(() -> translatorService.save(newTranslatorWithEmail(translator.getEmail())))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void refreshesAndEvictsOnUpdate() {
+        String oldEmail = translator.getEmail();
+        Translator changes = newTranslator("renamed");
+
+        Translator updated = translatorService.update(translatorService.findById(translator.getId()), changes, null);
+
+        assertThat(updated.getEmail()).isEqualTo(changes.getEmail());
+        assertThat(translatorService.findById(translator.getId()).getName()).isEqualTo(changes.getName());
+        assertThat(cacheManager.getCache(CacheConfig.TRANSLATORS_BY_EMAIL).get(oldEmail)).isNull();
+        assertThat(translatorService.save(newTranslatorWithEmail(oldEmail)).getId()).isNotNull();
+    }
+
+    @Test
+    void evictsTheCurrentEmailWhenTheCachedTranslatorIsStale() {
+        Translator stale = translatorService.findById(translator.getId());
+        String otherNodeEmail = "other-node-" + UUID.randomUUID() + "@example.com";
+
+        // Outro nó altera o e-mail; o tradutor continua no cache deste nó com o e-mail antigo
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE translator SET email = ?, version = version + 1 WHERE id = ?", otherNodeEmail,
+                translator.getId()));
+        assertThat(translatorRepository.findByEmail(otherNodeEmail)).isNotNull();
+
+        translatorService.update(stale, newTranslator("stale"), null);
+
+        assertThat(cacheManager.getCache(CacheConfig.TRANSLATORS_BY_EMAIL).get(otherNodeEmail)).isNull();
+        assertThat(translatorService.save(newTranslatorWithEmail(otherNodeEmail)).getId()).isNotNull();
+    }
+
+    @Test
+    void evictsOnDelete() {
+        translatorService.delete(translatorService.findById(translator.getId()));
+
+        assertThat(cacheManager.getCache(CacheConfig.TRANSLATORS).get(translator.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.TRANSLATORS_BY_EMAIL).get(translator.getEmail())).isNull();
+        assertThat(translatorService.findById(translator.getId())).isNull();
+        assertThat(translatorService.save(newTranslatorWithEmail(translator.getEmail())).getId()).isNotNull();
+    }
+
+    private Cache l1(String name) {
+        return ((TwoLevelCache) cacheManager.getCache(name)).getL1();
+    }
+
+    private static Translator newTranslator(String prefix) {
+        String run = UUID.randomUUID().toString();
+        return new Translator(prefix + " " + run, prefix + "-" + run + "@example.com", "pt-br", "en-us", null);
+    }
+
+    private static Translator newTranslatorWithEmail(String email) {
+        return new Translator("Outro " + UUID.randomUUID(), email, "pt-br", "en-us", null);
+    }
+}
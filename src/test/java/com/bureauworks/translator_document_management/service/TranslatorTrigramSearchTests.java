@@ -0,0 +1,119 @@
+package com.bureauworks.translator_document_management.service;
+
+import com.bureauworks.translator_document_management.PostgresIntegrationTest;
+import com.bureauworks.translator_document_management.entity.Translator;
+import com.bureauworks.translator_document_management.repository.TranslatorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"import.queue.enabled=false", "spring.jpa.show-sql=false"})
+class TranslatorTrigramSearchTests extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TranslatorTrigramSearchTests.class);
+
+    @Autowired
+    private TranslatorService translatorService;
+
+    @Autowired
+    private TranslatorRepository translatorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Remove o milhão de tradutores do benchmark e recria os índices de trigramas mesmo quando o benchmark falha no
+     * meio, para não afetar os outros testes que compartilham o banco.
+     */
+    @AfterEach
+    void removeBenchmarkData() {
+        createTrigramIndexes();
+        update("DELETE FROM translator WHERE name LIKE 'Bench %'");
+    }
+
+    @Test
+    void findsTranslatorsBySubstringAndWithTypos() {
+        Translator translator = translatorRepository.save(
+                new Translator("Maximiliano Trigrama", "maximiliano@example.com", "pt-br", "en-us", null));
+
+        assertThat(translatorService.searchTranslators("MILIANO TRI", PageRequest.of(0, 10)))
+                .extracting(Translator::getId).contains(translator.getId());
+        assertThat(translatorService.searchTranslatorsBySimilarity("Maximilano Trigama", PageRequest.of(0, 10)))
+                .extracting(Translator::getId).first().isEqualTo(translator.getId());
+    }
+
+    /**
+     * Latência das pesquisas com 1 milhão de tradutores, sem e com os índices de trigramas. Demorado; execute com
+     * {@code mvn test -Dtest=TranslatorTrigramSearchTests -Dbenchmark=true}.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkSearchWithAndWithoutTrigramIndexes() {
+        update("INSERT INTO translator (name, email, source_language, target_language, created_at) " +
+                "SELECT 'Bench ' || md5(i::text), 'bench' || i || '@example.com', 'pt-br', 'en-us', now() " +
+                "FROM generate_series(1, 1000000) i");
+        String substring = jdbcTemplate.queryForObject("SELECT substr(md5('500000'), 5, 10)", String.class);
+        // Dois caracteres trocados no nome; um e-mail com erro não serviria, pois todos compartilham o domínio
+        String typo = jdbcTemplate.queryForObject(
+                "SELECT 'Bench ' || overlay(md5('500000') PLACING 'zz' FROM 10 FOR 2)", String.class);
+
+        update("DROP INDEX idx_translator_name_trgm");
+        update("DROP INDEX idx_translator_email_trgm");
+        update("ANALYZE translator");
+        long likeWithout = medianMillis(() -> translatorService.searchTranslators(substring, PageRequest.of(0, 10)));
+        long fuzzyWithout = medianMillis(() -> translatorService.searchTranslatorsBySimilarity(typo,
+                PageRequest.of(0, 10)));
+
+        createTrigramIndexes();
+        update("ANALYZE translator");
+        long likeWith = medianMillis(() -> translatorService.searchTranslators(substring, PageRequest.of(0, 10)));
+        long fuzzyWith = medianMillis(() -> translatorService.searchTranslatorsBySimilarity(typo,
+                PageRequest.of(0, 10)));
+
+        logger.info("1M tradutores - LIKE '%{}%': {} ms sem índice, {} ms com trigramas", substring, likeWithout,
+                likeWith);
+        logger.info("1M tradutores - similaridade '{}': {} ms sem índice, {} ms com trigramas", typo, fuzzyWithout,
+                fuzzyWith);
+        assertThat(likeWith).isLessThan(likeWithout);
+        assertThat(fuzzyWith).isLessThan(fuzzyWithout);
+    }
+
+    private long medianMillis(Supplier<Page<Translator>> search) {
+        search.get();
+        long[] millis = new long[5];
+        for (int i = 0; i < millis.length; i++) {
+            long start = System.nanoTime();
+            assertThat(search.get().getContent()).isNotEmpty();
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return millis[millis.length / 2];
+    }
+
+    private void createTrigramIndexes() {
+        update("CREATE INDEX IF NOT EXISTS idx_translator_name_trgm ON translator " +
+                "USING gin (lower(name) gin_trgm_ops)");
+        update("CREATE INDEX IF NOT EXISTS idx_translator_email_trgm ON translator " +
+                "USING gin (lower(email) gin_trgm_ops)");
+    }
+
+    private void update(String sql) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(sql));
+    }
+}